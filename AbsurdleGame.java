@@ -0,0 +1,108 @@
+/**
+ * The adversary of the adversarial ("Absurdle") mode: there is no fixed
+ * secret, only the candidates still consistent with every row. Each guess
+ * splits them by the feedback they would give and the adversary keeps the
+ * largest group, so the player is told as little as possible. The candidates
+ * are a primitive int[] of dictionary indices narrowed in place; a turn is
+ * one feedback pass that counts the groups and one pass that compacts the
+ * kept group to the front, with no allocation.
+ * Usage: AbsurdleGame a = new AbsurdleGame(dict); a.narrow("PLANE"); a.secret();
+ */
+public final class AbsurdleGame {
+
+    private final String[] dict;
+    private final int length;
+    private final long[] keys;
+    private final int[] masks;
+
+    // candidates[0 .. count-1] are the dictionary indices still possible
+    private final int[] candidates;
+    private int count;
+
+    // scratch for one turn: the pattern of each candidate and the group sizes
+    private final int[] patterns;
+    private final int[] counts;
+
+    // Creates an adversary over dict, whose words must all have the same length (1 to 12 letters).
+    public AbsurdleGame(String[] dict) {
+        if (dict.length == 0) throw new IllegalArgumentException("empty dictionary");
+        this.dict = dict;
+        this.length = dict[0].length();
+        if (length > PackedKey.MAX_LENGTH) {
+            throw new IllegalArgumentException("words are longer than " + PackedKey.MAX_LENGTH + " letters");
+        }
+        for (String word : dict) {
+            if (word.length() != length) throw new IllegalArgumentException("\"" + word + "\" is not " + length + " letters long");
+        }
+        this.keys = PackedKey.packAll(dict);
+        this.masks = PackedKey.masks(keys, length);
+        this.candidates = new int[dict.length];
+        this.patterns = new int[dict.length];
+        this.counts = new int[PackedKey.patterns(length)];
+        reset();
+    }
+
+    // Makes every dictionary word a candidate again.
+    public void reset() {
+        for (int i = 0; i < candidates.length; i++) candidates[i] = i;
+        count = candidates.length;
+    }
+
+    // Number of words still possible.
+    public int size() {
+        return count;
+    }
+
+    // Returns the i-th candidate (0 <= i < size()) as a dictionary index.
+    public int candidate(int i) {
+        return candidates[i];
+    }
+
+    // A word that gives the same feedback as every kept group so far: the
+    // secret as far as the player can tell.
+    public String secret() {
+        return dict[candidates[0]];
+    }
+
+    // Plays guess (same length as the words): keeps the largest group of
+    // candidates that give guess the same feedback and returns that encoded
+    // pattern. Ties go to the lowest pattern, so the all-green group (the
+    // highest) is kept only when it is the only group left.
+    public int narrow(CharSequence guess) {
+        if (guess.length() != length) throw new IllegalArgumentException("guess \"" + guess + "\" is not " + length + " letters long");
+        long key = guessKey(guess);
+
+        // counting pass
+        int best = -1;
+        for (int i = 0; i < count; i++) {
+            int c = candidates[i];
+            int p = PackedKey.feedback(keys[c], masks[c], key, length);
+            patterns[i] = p;
+            int n = ++counts[p];
+            if (best < 0 || n > counts[best] || (n == counts[best] && p < best)) best = p;
+        }
+
+        // keep the chosen group at the front, in dictionary order, and clear the counts
+        int kept = 0;
+        for (int i = 0; i < count; i++) {
+            int p = patterns[i];
+            counts[p] = 0;
+            if (p == best) candidates[kept++] = candidates[i];
+        }
+        count = kept;
+        return best;
+    }
+
+    // Packs a guess like PackedKey.pack, except that a character other than
+    // a letter becomes field 31: it equals no letter and is in no presence
+    // mask, so it gets '_' exactly as Wordle.computeFeedback gives it.
+    private static long guessKey(CharSequence guess) {
+        long key = 0;
+        for (int i = guess.length() - 1; i >= 0; i--) {
+            char c = Character.toUpperCase(guess.charAt(i));
+            int letter = (c >= 'A' && c <= 'Z') ? c - 'A' : 31;
+            key = (key << PackedWord.BITS) | letter;
+        }
+        return key;
+    }
+}
@@ -0,0 +1,282 @@
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Scanner;
+
+/**
+ * A dictionary stored as fixed-width ASCII records in a memory-mapped file.
+ * Layout: int magic, int count, int wordLength, long sourceSize, long
+ * sourceHash (big-endian), followed by count records of wordLength bytes
+ * each. sourceSize and sourceHash describe the text file it was converted
+ * from (-1 and 0 when written from words), so that a copy is used only
+ * while the text file still has exactly those contents. Every word has the same length,
+ * so a dictionary that mixes lengths (which DictionaryLoader and
+ * Wordle.run accept) cannot be converted and is always read as text.
+ * charAt, copyWord and matches read straight from the mapping without
+ * creating a String; word and toArray make one String per word.
+ * Usage: java BinaryDictionary dictionary.txt [dictionary.bin]
+ */
+public final class BinaryDictionary {
+
+    // "WDIC" in ASCII, marks a file written by convert.
+    public static final int MAGIC = 0x57444943;
+
+    // Size of the header in bytes.
+    public static final int HEADER_BYTES = 28;
+
+    // Starting value of the FNV-1a source hash.
+    private static final long FNV_BASIS = 0xCBF29CE484222325L;
+
+    private final MappedByteBuffer buffer;
+    private final int count;
+    private final int wordLength;
+
+    private BinaryDictionary(MappedByteBuffer buffer, int count, int wordLength) {
+        this.buffer = buffer;
+        this.count = count;
+        this.wordLength = wordLength;
+    }
+
+    // Memory-maps the binary dictionary file and checks its header.
+    public static BinaryDictionary load(File file) {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_BYTES) {
+                throw new IllegalArgumentException(file + " is too short to be a binary dictionary");
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+            if (buffer.getInt(0) != MAGIC) {
+                throw new IllegalArgumentException(file + " is not a binary dictionary");
+            }
+            int count = buffer.getInt(4);
+            int wordLength = buffer.getInt(8);
+            // an empty dictionary is written with word length 0
+            if (count < 0 || wordLength < 0 || (count > 0 && wordLength == 0)
+                    || HEADER_BYTES + (long) count * wordLength != fileSize) {
+                throw new IllegalArgumentException(file + " has a corrupt header");
+            }
+            return new BinaryDictionary(buffer, count, wordLength);
+        }
+        catch (IOException ioe) {
+            throw new IllegalArgumentException("Could not open " + file, ioe);
+        }
+    }
+
+    // Writes words as a binary dictionary file. All words must be ASCII and of
+    // the same length; they are checked before anything is written. The file
+    // is written to a temporary file beside it and renamed into place, so a
+    // failed write never leaves a truncated dictionary for companionOf to find.
+    public static void write(String[] words, File file) {
+        write(words, file, -1, 0);
+    }
+
+    private static void write(String[] words, File file, long sourceSize, long sourceHash) {
+        int wordLength = (words.length == 0) ? 0 : words[0].length();
+        for (String word : words) {
+            if (word.length() != wordLength) {
+                throw new IllegalArgumentException("word \"" + word + "\" is not " + wordLength + " letters long");
+            }
+            for (int i = 0; i < wordLength; i++) {
+                if (word.charAt(i) > 127) throw new IllegalArgumentException("word \"" + word + "\" is not ASCII");
+            }
+        }
+        Path target = file.toPath().toAbsolutePath();
+        Path temp = null;
+        try {
+            temp = tempSibling(target);
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(words.length);
+                out.writeInt(wordLength);
+                out.writeLong(sourceSize);
+                out.writeLong(sourceHash);
+                for (String word : words) {
+                    for (int i = 0; i < wordLength; i++) {
+                        out.writeByte(word.charAt(i));
+                    }
+                }
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            temp = null;
+        }
+        catch (IOException ioe) {
+            throw new IllegalArgumentException("Could not write " + file, ioe);
+        }
+        finally {
+            deleteQuietly(temp);
+        }
+    }
+
+    // Creates an empty temporary file beside target, with a name no other
+    // writer uses, readable by everyone like a file created the usual way
+    // (createTempFile alone would make it private to this user).
+    static Path tempSibling(Path target) throws IOException {
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            Files.setPosixFilePermissions(temp, PosixFilePermissions.fromString("rw-r--r--"));
+        }
+        catch (UnsupportedOperationException notPosix) {
+            // the default permissions are all there is
+        }
+        return temp;
+    }
+
+    // Deletes a leftover temporary file, if any.
+    static void deleteQuietly(Path temp) {
+        if (temp == null) return;
+        try {
+            Files.deleteIfExists(temp);
+        }
+        catch (IOException ignored) {
+            // nothing more to do; the name is unique and never read
+        }
+    }
+
+    // Converts a text dictionary (one word per token) into a binary dictionary,
+    // upper-casing words as Wordle.readDictionary does. All words must have
+    // the same length. The text's size and hash go into the header.
+    public static void convert(String textFile, String binFile) {
+        byte[] text;
+        try {
+            text = Files.readAllBytes(new File(textFile).toPath());
+        }
+        catch (IOException ioe) {
+            throw new IllegalArgumentException("Could not read " + textFile, ioe);
+        }
+        In in = new In(new Scanner(new String(text, StandardCharsets.UTF_8)));
+        String[] words = in.readAllStrings();
+        in.close();
+        for (int i = 0; i < words.length; i++) {
+            words[i] = words[i].toUpperCase();
+            if (words[i].length() != words[0].length()) {
+                throw new IllegalArgumentException(textFile + " mixes " + words[0].length() + "- and " + words[i].length()
+                                                   + "-letter words; a binary dictionary holds words of one length");
+            }
+        }
+        write(words, new File(binFile), text.length, hash(text, text.length, FNV_BASIS));
+    }
+
+    // 64-bit FNV-1a of bytes[0 .. length-1], continuing from h (the same
+    // function OpeningBook.hash applies to words, here over raw bytes).
+    private static long hash(byte[] bytes, int length, long h) {
+        for (int i = 0; i < length; i++) {
+            h = (h ^ (bytes[i] & 0xFF)) * 0x100000001B3L;
+        }
+        return h;
+    }
+
+    // Returns the binary dictionary that sits next to textFile (same name, ".bin"
+    // instead of ".txt"), or null if there is none or it was converted from
+    // other contents than textFile has now: its recorded source size and hash
+    // are compared with the text, as the other caches compare dictionary
+    // hashes, so modification times do not matter. Only a single-length
+    // dictionary can have one, since convert refuses mixed lengths.
+    public static File companionOf(String textFile) {
+        if (!textFile.endsWith(".txt")) return null;
+        File text = new File(textFile);
+        File bin = new File(textFile.substring(0, textFile.length() - 4) + ".bin");
+        if (!bin.isFile()) return null;
+        if (!text.exists()) return bin;
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(bin.toPath()))) {
+            if (in.readInt() != MAGIC) return null;
+            in.readInt();
+            in.readInt();
+            long sourceSize = in.readLong();
+            long sourceHash = in.readLong();
+            if (sourceSize != text.length()) return null;
+            return (sourceHash == hashOf(text)) ? bin : null;
+        }
+        catch (IOException ioe) {
+            return null;
+        }
+    }
+
+    // FNV-1a hash of a file's bytes, read in blocks.
+    private static long hashOf(File file) throws IOException {
+        long h = FNV_BASIS;
+        byte[] block = new byte[8192];
+        try (InputStream in = Files.newInputStream(file.toPath())) {
+            for (int n; (n = in.read(block)) > 0; ) {
+                h = hash(block, n, h);
+            }
+        }
+        return h;
+    }
+
+    // Number of words.
+    public int size() {
+        return count;
+    }
+
+    // Length of every word.
+    public int wordLength() {
+        return wordLength;
+    }
+
+    // Returns letter pos of word index.
+    public char charAt(int index, int pos) {
+        return (char) buffer.get(HEADER_BYTES + index * wordLength + pos);
+    }
+
+    // Copies word index into dst, which must hold at least wordLength chars.
+    public void copyWord(int index, char[] dst) {
+        int offset = HEADER_BYTES + index * wordLength;
+        for (int i = 0; i < wordLength; i++) {
+            dst[i] = (char) buffer.get(offset + i);
+        }
+    }
+
+    // Returns true if word index is equal to word.
+    public boolean matches(int index, CharSequence word) {
+        if (word.length() != wordLength) return false;
+        int offset = HEADER_BYTES + index * wordLength;
+        for (int i = 0; i < wordLength; i++) {
+            if (buffer.get(offset + i) != word.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    // Returns word index as a new String.
+    public String word(int index) {
+        byte[] bytes = new byte[wordLength];
+        buffer.get(HEADER_BYTES + index * wordLength, bytes);
+        return new String(bytes, StandardCharsets.US_ASCII);
+    }
+
+    // Returns all words as a String array, in file order.
+    public String[] toArray() {
+        String[] words = new String[count];
+        for (int i = 0; i < count; i++) {
+            words[i] = word(i);
+        }
+        return words;
+    }
+
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            System.out.println("Usage: java BinaryDictionary dictionary.txt [dictionary.bin]");
+            return;
+        }
+        String textFile = args[0];
+        String binFile = (args.length > 1) ? args[1] : textFile.replaceAll("\\.txt$", "") + ".bin";
+        try {
+            convert(textFile, binFile);
+        } catch (IllegalArgumentException e) {
+            System.out.println("Could not convert " + textFile + ": " + e.getMessage());
+            return;
+        }
+        BinaryDictionary dict = load(new File(binFile));
+        System.out.println("Wrote " + dict.size() + " words of length " + dict.wordLength() + " to " + binFile);
+    }
+}
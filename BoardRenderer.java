@@ -0,0 +1,24 @@
+/**
+ * Presents a game to the player. Wordle.playGame drives a WordleGame and
+ * calls these methods; the game state itself never prints anything.
+ */
+public interface BoardRenderer {
+
+    // Asks for the next guess. The player is about to be read from, so any buffered output must be flushed.
+    void prompt(int wordLength);
+
+    // Reports that the last input was not an acceptable guess.
+    void invalidGuess();
+
+    // Reports that the last guess ignored a revealed hint in hard mode; reason says which.
+    void hardModeViolation(String reason);
+
+    // Shows the board up to currentRow (inclusive).
+    void board(char[][] guesses, char[][] results, int currentRow);
+
+    // Reports a win after the given number of attempts.
+    void won(int attempts);
+
+    // Reports a loss and reveals the secret.
+    void lost(String secret);
+}
@@ -0,0 +1,160 @@
+import java.util.Arrays;
+
+/**
+ * The set of dictionary words that are still possible secrets, as a bitmap
+ * over dictionary indices. Each guess narrows the set using only that guess
+ * and its feedback, instead of re-checking every word against every row.
+ * Usage: set.narrow(guesses, results, attempt) after each row of Wordle.main.
+ */
+public final class CandidateSet {
+
+    private final String[] dict;
+    private final int[] packed;
+    private final int[] masks;
+    private final long[] bits;
+    private int count;
+
+    // Creates a set holding every word of dict.
+    public CandidateSet(String[] dict) {
+        this.dict = dict;
+        this.packed = PackedWord.packAll(dict);
+        this.masks = PackedWord.masks(packed);
+        this.bits = new long[(dict.length + 63) >>> 6];
+        reset();
+    }
+
+    // Makes every dictionary word a candidate again.
+    public void reset() {
+        Arrays.fill(bits, -1L);
+        int tail = dict.length & 63;
+        if (tail != 0) bits[bits.length - 1] = (1L << tail) - 1;
+        count = dict.length;
+    }
+
+    // Number of candidates.
+    public int size() {
+        return count;
+    }
+
+    // Returns true if dictionary word i is a candidate.
+    public boolean contains(int i) {
+        return (bits[i >>> 6] & (1L << i)) != 0;
+    }
+
+    // Returns the first candidate index >= from, or -1 if there is none.
+    public int nextCandidate(int from) {
+        if (from >= dict.length) return -1;
+        int w = from >>> 6;
+        long word = bits[w] & (-1L << from);
+        while (word == 0) {
+            if (++w == bits.length) return -1;
+            word = bits[w];
+        }
+        return (w << 6) + Long.numberOfTrailingZeros(word);
+    }
+
+    // Returns the candidate indices in increasing order.
+    public int[] toArray() {
+        int[] result = new int[count];
+        int k = 0;
+        for (int i = nextCandidate(0); i >= 0; i = nextCandidate(i + 1)) {
+            result[k++] = i;
+        }
+        return result;
+    }
+
+    // The word at dictionary index i.
+    public String word(int i) {
+        return dict[i];
+    }
+
+    // Keeps only the candidates that give resultRow for guess (as computeFeedback would).
+    public void narrow(String guess, char[] resultRow) {
+        int g = PackedWord.pack(guess);
+        int pattern = Wordle.encodeFeedback(resultRow);
+        for (int w = 0; w < bits.length; w++) {
+            long word = bits[w];
+            long keep = word;
+            while (word != 0) {
+                int bit = Long.numberOfTrailingZeros(word);
+                int s = (w << 6) + bit;
+                if (PackedWord.feedback(packed[s], masks[s], g) != pattern) keep &= ~(1L << bit);
+                word &= word - 1;
+            }
+            count -= Long.bitCount(bits[w] ^ keep);
+            bits[w] = keep;
+        }
+    }
+
+    // Narrows by row of the guesses/results arrays kept by Wordle.main.
+    public void narrow(char[][] guesses, char[][] results, int row) {
+        narrow(new String(guesses[row]), results[row]);
+    }
+
+    // Keeps only the candidates s with matrix.pattern(guess, s) == pattern.
+    public void narrow(PatternMatrix matrix, int guess, int pattern) {
+        for (int w = 0; w < bits.length; w++) {
+            long word = bits[w];
+            long keep = word;
+            while (word != 0) {
+                int bit = Long.numberOfTrailingZeros(word);
+                if (matrix.pattern(guess, (w << 6) + bit) != pattern) keep &= ~(1L << bit);
+                word &= word - 1;
+            }
+            count -= Long.bitCount(bits[w] ^ keep);
+            bits[w] = keep;
+        }
+    }
+
+    // Keeps only the candidates consistent with every hint in constraints.
+    // This gives the same set as narrowing by each of the rows it was built
+    // from, with one mask test per candidate instead of one feedback per row.
+    public void narrow(HardModeConstraints constraints) {
+        for (int w = 0; w < bits.length; w++) {
+            long word = bits[w];
+            long keep = word;
+            while (word != 0) {
+                int bit = Long.numberOfTrailingZeros(word);
+                if (!constraints.matches(packed[(w << 6) + bit])) keep &= ~(1L << bit);
+                word &= word - 1;
+            }
+            count -= Long.bitCount(bits[w] ^ keep);
+            bits[w] = keep;
+        }
+    }
+
+    // Keeps only the candidates whose bit is set in bitmap (e.g. one from
+    // patternBitmaps); a null bitmap stands for the empty set.
+    public void intersect(long[] bitmap) {
+        if (bitmap == null) {
+            Arrays.fill(bits, 0L);
+            count = 0;
+            return;
+        }
+        count = 0;
+        for (int w = 0; w < bits.length; w++) {
+            bits[w] &= (w < bitmap.length) ? bitmap[w] : 0;
+            count += Long.bitCount(bits[w]);
+        }
+    }
+
+    // Keeps only the candidates that are also in other, which must be over the same dictionary.
+    public void intersect(CandidateSet other) {
+        intersect(other.bits);
+    }
+
+    // Returns, for each feedback pattern p, the bitmap of secrets that give p
+    // when guess is played, or null if no secret does. Intersecting with
+    // bitmaps[p] has the same effect as narrow(matrix, guess, p), so callers
+    // that revisit the same guesses can compute these once and keep them.
+    public static long[][] patternBitmaps(PatternMatrix matrix, int guess) {
+        long[][] bitmaps = new long[PatternMatrix.PATTERNS][];
+        int words = (matrix.size() + 63) >>> 6;
+        for (int s = 0; s < matrix.size(); s++) {
+            int p = matrix.pattern(guess, s);
+            if (bitmaps[p] == null) bitmaps[p] = new long[words];
+            bitmaps[p][s >>> 6] |= 1L << s;
+        }
+        return bitmaps;
+    }
+}
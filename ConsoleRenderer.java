@@ -0,0 +1,69 @@
+import java.io.PrintStream;
+
+/**
+ * Renders a game as text, in the format of Wordle.printBoard. Each message
+ * is built in one reusable StringBuilder and written with a single print,
+ * instead of one synchronized PrintStream call per character.
+ */
+public final class ConsoleRenderer implements BoardRenderer {
+
+    private static final String NEWLINE = System.lineSeparator();
+
+    private final PrintStream out;
+    private final StringBuilder frame = new StringBuilder(256);
+
+    public ConsoleRenderer(PrintStream out) {
+        this.out = out;
+    }
+
+    @Override
+    public void prompt(int wordLength) {
+        out.print("Enter your guess (" + wordLength + "-letter word): ");
+        out.flush();
+    }
+
+    @Override
+    public void invalidGuess() {
+        out.println("Invalid word. Please try again.");
+    }
+
+    @Override
+    public void hardModeViolation(String reason) {
+        out.println("Hard mode: " + reason + ". Please try again.");
+    }
+
+    @Override
+    public void board(char[][] guesses, char[][] results, int currentRow) {
+        frame.setLength(0);
+        appendBoard(frame, guesses, results, currentRow);
+        out.append(frame);
+    }
+
+    @Override
+    public void won(int attempts) {
+        out.println("Congratulations! You guessed the word in " + attempts + " attempts.");
+        out.flush();
+    }
+
+    @Override
+    public void lost(String secret) {
+        frame.setLength(0);
+        frame.append("Sorry, you did not guess the word.").append(NEWLINE);
+        frame.append("The secret word was: ").append(secret).append(NEWLINE);
+        out.append(frame);
+        out.flush();
+    }
+
+    // Appends the board up to currentRow (inclusive) to sb, exactly as printBoard prints it.
+    public static void appendBoard(StringBuilder sb, char[][] guesses, char[][] results, int currentRow) {
+        sb.append("Current board:").append(NEWLINE);
+        for (int row = 0; row <= currentRow; row++) {
+            sb.append("Guess ").append(row + 1).append(": ");
+            sb.append(guesses[row]);
+            sb.append("   Result: ");
+            sb.append(results[row]);
+            sb.append(NEWLINE);
+        }
+        sb.append(NEWLINE);
+    }
+}
@@ -0,0 +1,319 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+
+/**
+ * The solver's complete strategy for one dictionary, compiled offline into a
+ * flat int[] so that a hint is a walk of a few array lookups. A node at
+ * offset o is: tree[o] = dictionary index of the guess, tree[o+1] = number of
+ * children, then (pattern, child offset) pairs sorted by pattern, one for each
+ * feedback other than all-green that some remaining candidate gives.
+ * File layout: int magic, int version, long hash, int size, int length, then
+ * the tree ints. Like OpeningBook it is rebuilt when the dictionary changes.
+ * Usage: java DecisionTree [dictionary.txt]
+ */
+public final class DecisionTree {
+
+    // "WTRE" in ASCII.
+    public static final int MAGIC = 0x57545245;
+    public static final int VERSION = 1;
+
+    // Bytes before the tree ints: magic, version, hash, size, length.
+    private static final int HEADER_BYTES = 24;
+
+    private final long hash;
+    private final int size;
+    private final int[] tree;
+
+    private DecisionTree(long hash, int size, int[] tree) {
+        this.hash = hash;
+        this.size = size;
+        this.tree = tree;
+    }
+
+    // Returns the tree for dict, which was read from dictionaryFile: read from
+    // the tree file if it matches dict, otherwise compiled and written there.
+    public static DecisionTree load(String dictionaryFile, String[] dict) {
+        File file = treeFile(dictionaryFile);
+        DecisionTree tree = read(file);
+        if (tree != null && tree.matches(dict)) {
+            return tree;
+        }
+        tree = compile(dict, new WordleSolver(dict));
+        tree.write(file);
+        return tree;
+    }
+
+    // The tree file for a dictionary file: same name, ".tree" instead of ".txt".
+    public static File treeFile(String dictionaryFile) {
+        String base = dictionaryFile.endsWith(".txt") ? dictionaryFile.substring(0, dictionaryFile.length() - 4) : dictionaryFile;
+        return new File(base + ".tree");
+    }
+
+    // Explores every game solver can play on dict and records its guesses.
+    public static DecisionTree compile(String[] dict, WordleSolver solver) {
+        Compiler compiler = new Compiler(dict, solver);
+        int[] all = new int[dict.length];
+        for (int i = 0; i < all.length; i++) all[i] = i;
+        compiler.node(all, all.length, 0);
+        solver.reset();
+        return new DecisionTree(OpeningBook.hash(dict), dict.length, Arrays.copyOf(compiler.tree, compiler.length));
+    }
+
+    // Depth-first walk of the game tree, appending nodes in preorder.
+    private static final class Compiler {
+        private final String[] dict;
+        private final WordleSolver solver;
+        private final int[] pathGuesses = new int[64];
+        private final int[] pathPatterns = new int[64];
+        private final char[] row = new char[Wordle.WORD_LENGTH];
+        private int[] tree = new int[1024];
+        private int length;
+
+        Compiler(String[] dict, WordleSolver solver) {
+            this.dict = dict;
+            this.solver = solver;
+        }
+
+        // Appends the node for the candidates[0 .. count-1] reached after
+        // depth guesses, and returns its offset.
+        int node(int[] candidates, int count, int depth) {
+            // replay the path so that the solver's candidates are exactly these
+            solver.reset();
+            for (int d = 0; d < depth; d++) {
+                solver.update(pathGuesses[d], pathPatterns[d]);
+            }
+            int guess = solver.nextGuess();
+
+            // group the candidates by the feedback they give to guess
+            int[] patterns = new int[count];
+            for (int i = 0; i < count; i++) {
+                Wordle.computeFeedback(dict[candidates[i]], dict[guess], row);
+                patterns[i] = Wordle.encodeFeedback(row);
+            }
+            int[] order = sortedByPattern(patterns);
+            int children = 0;
+            for (int i = 0; i < count; i++) {
+                int p = patterns[order[i]];
+                if (p != PatternMatrix.ALL_GREEN && (i == 0 || p != patterns[order[i - 1]])) children++;
+            }
+
+            int offset = reserve(2 + 2 * children);
+            tree[offset] = guess;
+            tree[offset + 1] = children;
+            pathGuesses[depth] = guess;
+            int child = 0;
+            for (int i = 0; i < count; ) {
+                int p = patterns[order[i]];
+                int j = i;
+                while (j < count && patterns[order[j]] == p) j++;
+                if (p != PatternMatrix.ALL_GREEN) {
+                    int[] next = new int[j - i];
+                    for (int k = i; k < j; k++) next[k - i] = candidates[order[k]];
+                    pathPatterns[depth] = p;
+                    int at = node(next, next.length, depth + 1);
+                    tree[offset + 2 + 2 * child] = p;
+                    tree[offset + 3 + 2 * child] = at;
+                    child++;
+                }
+                i = j;
+            }
+            return offset;
+        }
+
+        // Indices 0 .. patterns.length-1 ordered by pattern.
+        private static int[] sortedByPattern(int[] patterns) {
+            int[] counts = new int[PatternMatrix.PATTERNS + 1];
+            for (int p : patterns) counts[p + 1]++;
+            for (int p = 0; p < PatternMatrix.PATTERNS; p++) counts[p + 1] += counts[p];
+            int[] order = new int[patterns.length];
+            for (int i = 0; i < patterns.length; i++) order[counts[patterns[i]]++] = i;
+            return order;
+        }
+
+        private int reserve(int ints) {
+            while (length + ints > tree.length) tree = Arrays.copyOf(tree, tree.length * 2);
+            int offset = length;
+            length += ints;
+            return offset;
+        }
+    }
+
+    // Returns true if this tree was compiled for dict.
+    public boolean matches(String[] dict) {
+        return size == dict.length && hash == OpeningBook.hash(dict);
+    }
+
+    // Number of ints in the flat tree.
+    public int length() {
+        return tree.length;
+    }
+
+    // Returns the dictionary index of the next guess after the first rows
+    // guesses got the encoded feedback patterns, or -1 if the tree has no
+    // such game (no dictionary word gives that feedback).
+    public int next(int[] patterns, int rows) {
+        int node = 0;
+        for (int r = 0; r < rows; r++) {
+            node = child(node, patterns[r]);
+            if (node < 0) return -1;
+        }
+        return tree[node];
+    }
+
+    // Returns the dictionary index of the hint after the first rows rows of
+    // the board kept by Wordle.main, or -1 if a guess on the board is not the
+    // one the tree gave (the tree only covers games that follow its hints) or
+    // no dictionary word fits the feedback.
+    public int hint(char[][] guesses, char[][] results, int rows, String[] dict) {
+        int node = 0;
+        for (int r = 0; r < rows; r++) {
+            if (!sameWord(dict[tree[node]], guesses[r])) return -1;
+            node = child(node, Wordle.encodeFeedback(results[r]));
+            if (node < 0) return -1;
+        }
+        return tree[node];
+    }
+
+    private static boolean sameWord(String word, char[] guess) {
+        if (word.length() != guess.length) return false;
+        for (int i = 0; i < guess.length; i++) {
+            if (word.charAt(i) != guess[i]) return false;
+        }
+        return true;
+    }
+
+    // Returns the number of guesses the tree needs for secret, or -1 if it
+    // cannot find it (secret is not a dictionary word).
+    public int solve(String secret, String[] dict) {
+        char[] row = new char[Wordle.WORD_LENGTH];
+        int node = 0;
+        for (int attempt = 1; ; attempt++) {
+            Wordle.computeFeedback(secret, dict[tree[node]], row);
+            if (Wordle.isAllGreen(row)) return attempt;
+            node = child(node, Wordle.encodeFeedback(row));
+            if (node < 0) return -1;
+        }
+    }
+
+    // Offset of the child of node for pattern, or -1; a binary search over
+    // the node's sorted (pattern, offset) pairs.
+    private int child(int node, int pattern) {
+        int lo = 0;
+        int hi = tree[node + 1] - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int p = tree[node + 2 + 2 * mid];
+            if (p < pattern) lo = mid + 1;
+            else if (p > pattern) hi = mid - 1;
+            else return tree[node + 3 + 2 * mid];
+        }
+        return -1;
+    }
+
+    // Reads a tree file; returns null if it is missing, unreadable, of another
+    // version or not a well-formed tree, so that load() rebuilds it.
+    static DecisionTree read(File file) {
+        if (!file.isFile()) return null;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) return null;
+            long hash = in.readLong();
+            int size = in.readInt();
+            int length = in.readInt();
+            if (size < 1 || length < 2 || file.length() != HEADER_BYTES + 4L * length) return null;
+            int[] tree = new int[length];
+            for (int i = 0; i < tree.length; i++) {
+                tree[i] = in.readInt();
+            }
+            return wellFormed(tree, size) ? new DecisionTree(hash, size, tree) : null;
+        }
+        catch (IOException e) {
+            return null;
+        }
+    }
+
+    // Returns true if tree is a sequence of nodes in preorder whose guesses
+    // are below size, whose patterns are in range and strictly increasing,
+    // and whose child offsets point forward to the start of a node, so that
+    // every walk stays inside the array and ends.
+    private static boolean wellFormed(int[] tree, int size) {
+        boolean[] starts = new boolean[tree.length];
+        for (int o = 0; o < tree.length; ) {
+            if (o + 2 > tree.length) return false;
+            int children = tree[o + 1];
+            if (tree[o] < 0 || tree[o] >= size || children < 0 || children > PatternMatrix.ALL_GREEN
+                    || o + 2 + 2L * children > tree.length) {
+                return false;
+            }
+            starts[o] = true;
+            o += 2 + 2 * children;
+        }
+        for (int o = 0; o < tree.length; o += 2 + 2 * tree[o + 1]) {
+            int previous = -1;
+            for (int c = 0; c < tree[o + 1]; c++) {
+                int pattern = tree[o + 2 + 2 * c];
+                int offset = tree[o + 3 + 2 * c];
+                if (pattern <= previous || pattern >= PatternMatrix.ALL_GREEN
+                        || offset <= o || offset >= tree.length || !starts[offset]) {
+                    return false;
+                }
+                previous = pattern;
+            }
+        }
+        return true;
+    }
+
+    // Writes this tree to file. The tree is only a cache, so a failed write is
+    // not an error. It is written to a temporary file beside file and renamed
+    // over it, so a reader never sees a half-written tree.
+    void write(File file) {
+        Path target = file.toPath().toAbsolutePath();
+        Path temp = null;
+        try {
+            temp = BinaryDictionary.tempSibling(target);
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeLong(hash);
+                out.writeInt(size);
+                out.writeInt(tree.length);
+                for (int v : tree) {
+                    out.writeInt(v);
+                }
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            temp = null;
+        }
+        catch (IOException e) {
+            System.err.println("Could not write decision tree " + file + ": " + e.getMessage());
+        }
+        finally {
+            BinaryDictionary.deleteQuietly(temp);
+        }
+    }
+
+    public static void main(String[] args) {
+        String dictionaryFile = (args.length > 0) ? args[0] : "dictionary.txt";
+        String[] dict = Wordle.readDictionary(dictionaryFile);
+        long start = System.nanoTime();
+        DecisionTree tree = load(dictionaryFile, dict);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        long total = 0;
+        int worst = 0;
+        for (String secret : dict) {
+            int attempts = tree.solve(secret, dict);
+            total += attempts;
+            worst = Math.max(worst, attempts);
+        }
+        System.out.printf("Decision tree %s: %d ints, average %.3f guesses, at most %d (%.2f s)%n",
+                          treeFile(dictionaryFile), tree.length(), (double) total / dict.length, worst, seconds);
+    }
+}
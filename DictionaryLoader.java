@@ -0,0 +1,198 @@
+import java.util.Arrays;
+
+/**
+ * Reads a word feed in one pass and keeps its distinct words of one length,
+ * as PackedKey keys in the order they first appear. Each line is trimmed and
+ * upper-cased while it is packed; lines of the wrong length or with a
+ * non-letter are rejected, and repeats are dropped using an open-addressing
+ * hash set of keys. No String is created per line.
+ * Usage: DictionaryLoader loader = DictionaryLoader.load(new In("words.txt"), 5); long[] keys = loader.keys();
+ */
+public final class DictionaryLoader implements In.LineVisitor {
+
+    private final int wordLength;
+
+    // accepted keys, in order of first appearance
+    private long[] keys = new long[1024];
+    private int size;
+
+    // open-addressing set of key + 1 (0 marks an empty slot); kept at most half full
+    private long[] table = new long[2048];
+
+    private long lines;
+    private long blank;
+    private long wrongLength;
+    private long nonAlphabetic;
+    private long duplicates;
+
+    // Creates an empty loader for words of the given length (1 to 12 letters).
+    public DictionaryLoader(int wordLength) {
+        if (wordLength < 1 || wordLength > PackedKey.MAX_LENGTH) {
+            throw new IllegalArgumentException("word length must be 1 to " + PackedKey.MAX_LENGTH + ": " + wordLength);
+        }
+        this.wordLength = wordLength;
+    }
+
+    // Reads every line of in into a new loader, then closes in.
+    public static DictionaryLoader load(In in, int wordLength) {
+        DictionaryLoader loader = new DictionaryLoader(wordLength);
+        try {
+            in.forEachLine(loader);
+        } finally {
+            in.close();
+        }
+        return loader;
+    }
+
+    // Same as load(new In(filename), wordLength).
+    public static DictionaryLoader load(String filename, int wordLength) {
+        return load(new In(filename), wordLength);
+    }
+
+    // Adds one line of the feed. Surrounding whitespace is ignored and blank lines are skipped.
+    @Override
+    public void visit(CharSequence line) {
+        lines++;
+        int start = 0;
+        int end = line.length();
+        while (start < end && Character.isWhitespace(line.charAt(start))) start++;
+        while (end > start && Character.isWhitespace(line.charAt(end - 1))) end--;
+        if (start == end) {
+            blank++;
+            return;
+        }
+        if (end - start != wordLength) {
+            wrongLength++;
+            return;
+        }
+        long key = key(line, start, end);
+        if (key < 0) nonAlphabetic++;
+        else if (!add(key)) duplicates++;
+    }
+
+    // Packs the letters [start, end) of s in either case; returns -1 if one is not a letter.
+    private static long key(CharSequence s, int start, int end) {
+        long key = 0;
+        for (int i = end - 1; i >= start; i--) {
+            char c = s.charAt(i);
+            int letter;
+            if (c >= 'A' && c <= 'Z') letter = c - 'A';
+            else if (c >= 'a' && c <= 'z') letter = c - 'a';
+            else return -1;
+            key = (key << PackedWord.BITS) | letter;
+        }
+        return key;
+    }
+
+    // Adds key to the set and the key array; returns false if it was already there.
+    private boolean add(long key) {
+        int slot = slot(table, key);
+        if (table[slot] != 0) return false;
+        table[slot] = key + 1;
+        if (size == keys.length) keys = Arrays.copyOf(keys, 2 * size);
+        keys[size++] = key;
+        if (2 * size > table.length) rehash();
+        return true;
+    }
+
+    // Returns the slot of key in table: the one holding it, or the empty one where it belongs.
+    private static int slot(long[] table, long key) {
+        int mask = table.length - 1;
+        // the top log2(table.length) bits of the product, so the hash spans every slot
+        int i = (int) ((key * 0x9E3779B97F4A7C15L) >>> (64 - Integer.numberOfTrailingZeros(table.length)));
+        while (table[i] != 0 && table[i] != key + 1) {
+            i = (i + 1) & mask;
+        }
+        return i;
+    }
+
+    // Doubles the table and reinserts the accepted keys.
+    private void rehash() {
+        long[] bigger = new long[2 * table.length];
+        for (int i = 0; i < size; i++) {
+            bigger[slot(bigger, keys[i])] = keys[i] + 1;
+        }
+        table = bigger;
+    }
+
+    // Returns true if word was accepted. Letters may be upper or lower case.
+    public boolean contains(CharSequence word) {
+        if (word.length() != wordLength) return false;
+        long key = key(word, 0, wordLength);
+        return key >= 0 && table[slot(table, key)] != 0;
+    }
+
+    // Length of every accepted word.
+    public int wordLength() {
+        return wordLength;
+    }
+
+    // Number of distinct words accepted.
+    public int size() {
+        return size;
+    }
+
+    // The accepted words as PackedKey keys, in order of first appearance.
+    public long[] keys() {
+        return Arrays.copyOf(keys, size);
+    }
+
+    // The accepted 5-letter words as PackedWord ints (the same bits as their keys).
+    public int[] packedWords() {
+        if (wordLength != PackedWord.LENGTH) {
+            throw new IllegalStateException("packedWords() needs 5-letter words, not " + wordLength);
+        }
+        int[] packed = new int[size];
+        for (int i = 0; i < size; i++) {
+            packed[i] = (int) keys[i];
+        }
+        return packed;
+    }
+
+    // The word at the given index, in upper case.
+    public String word(int index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("index " + index + ", size " + size);
+        return PackedKey.toString(keys[index], wordLength);
+    }
+
+    // Number of lines read.
+    public long lines() {
+        return lines;
+    }
+
+    // Number of empty or all-whitespace lines skipped.
+    public long blankLines() {
+        return blank;
+    }
+
+    // Number of lines rejected for having the wrong length.
+    public long wrongLength() {
+        return wrongLength;
+    }
+
+    // Number of lines of the right length rejected for containing a non-letter.
+    public long nonAlphabetic() {
+        return nonAlphabetic;
+    }
+
+    // Number of lines dropped because their word was already accepted.
+    public long duplicates() {
+        return duplicates;
+    }
+
+    // Number of non-blank lines that were not accepted.
+    public long rejected() {
+        return wrongLength + nonAlphabetic + duplicates;
+    }
+
+    public static void main(String[] args) {
+        String filename = (args.length > 0) ? args[0] : "dictionary.txt";
+        int length = (args.length > 1) ? Integer.parseInt(args[1]) : Wordle.WORD_LENGTH;
+        DictionaryLoader loader = load(filename, length);
+        System.out.println(filename + ": " + loader.lines() + " lines, " + loader.size() + " " + length + "-letter words");
+        System.out.println("  blank:          " + loader.blankLines());
+        System.out.println("  wrong length:   " + loader.wrongLength());
+        System.out.println("  non-alphabetic: " + loader.nonAlphabetic());
+        System.out.println("  duplicates:     " + loader.duplicates());
+    }
+}
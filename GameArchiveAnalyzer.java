@@ -0,0 +1,470 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Replays archived games and reports per-word difficulty, the most common
+ * first guesses, and how far players are from the solver. Each archive line
+ * is one game: the secret, then the guesses, separated by commas or spaces.
+ * The file is split into byte ranges, one per thread, and each range is read
+ * through its own fixed-size buffer and parsed straight from bytes into packed
+ * words, so memory depends on the number of distinct words, not the file size.
+ * Usage: java GameArchiveAnalyzer archive.txt [threads]
+ *        java GameArchiveAnalyzer --generate archive.txt games   (writes a sample archive)
+ */
+public class GameArchiveAnalyzer {
+
+    // Bytes read from the file at a time by each thread.
+    static final int CHUNK = 1 << 20;
+
+    // Longest game a line may describe; longer lines are counted as malformed.
+    static final int MAX_GUESSES = 64;
+
+    // Longest line buffered, in bytes; a longer line is skipped and counted
+    // as malformed, so a file without newlines cannot exhaust the heap.
+    static final int MAX_LINE = 1 << 16;
+
+    // Counts per packed word: an open-addressing table of packed + 1 keys
+    // (0 marks an empty slot) with COLUMNS longs of counts per key.
+    static final class WordTable {
+        static final int COLUMNS = 3;
+
+        private int[] keys = new int[1024];
+        private long[] values = new long[1024 * COLUMNS];
+        private int size;
+
+        // Adds delta to column of word.
+        void add(int word, int column, long delta) {
+            values[slot(word) * COLUMNS + column] += delta;
+        }
+
+        long get(int word, int column) {
+            int i = find(word);
+            return (i < 0) ? 0 : values[i * COLUMNS + column];
+        }
+
+        int size() {
+            return size;
+        }
+
+        // The packed words in the table, in no particular order.
+        int[] words() {
+            int[] words = new int[size];
+            int k = 0;
+            for (int key : keys) {
+                if (key != 0) words[k++] = key - 1;
+            }
+            return words;
+        }
+
+        void addAll(WordTable other) {
+            for (int i = 0; i < other.keys.length; i++) {
+                if (other.keys[i] == 0) continue;
+                int slot = slot(other.keys[i] - 1);
+                for (int c = 0; c < COLUMNS; c++) {
+                    values[slot * COLUMNS + c] += other.values[i * COLUMNS + c];
+                }
+            }
+        }
+
+        private int find(int word) {
+            int mask = keys.length - 1;
+            for (int i = hash(word, keys.length); keys[i] != 0; i = (i + 1) & mask) {
+                if (keys[i] == word + 1) return i;
+            }
+            return -1;
+        }
+
+        // Returns the slot of word, inserting it if needed.
+        private int slot(int word) {
+            int mask = keys.length - 1;
+            int i = hash(word, keys.length);
+            while (keys[i] != 0) {
+                if (keys[i] == word + 1) return i;
+                i = (i + 1) & mask;
+            }
+            if (2 * (size + 1) > keys.length) {
+                grow();
+                return slot(word);
+            }
+            keys[i] = word + 1;
+            size++;
+            return i;
+        }
+
+        private void grow() {
+            int[] oldKeys = keys;
+            long[] oldValues = values;
+            keys = new int[oldKeys.length * 2];
+            values = new long[keys.length * COLUMNS];
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] == 0) continue;
+                int slot = slot(oldKeys[i] - 1);
+                System.arraycopy(oldValues, i * COLUMNS, values, slot * COLUMNS, COLUMNS);
+            }
+        }
+
+        // The top log2(length) bits of the product, so the hash spans a table of any size.
+        private static int hash(int word, int length) {
+            return (word * 0x9E3779B9) >>> (32 - Integer.numberOfTrailingZeros(length));
+        }
+    }
+
+    // Totals over the games of one or more ranges.
+    public static final class Stats {
+        // columns of the secret table
+        static final int GAMES = 0;
+        static final int WINS = 1;
+        static final int WIN_GUESSES = 2;
+
+        final WordTable secrets = new WordTable();
+        final WordTable firstGuesses = new WordTable();
+        long games;
+        long wins;
+        long winGuesses;
+        long guesses;
+        long inconsistent;
+        long malformed;
+
+        // winsIn[k] games were won in k guesses
+        final long[] winsIn = new long[MAX_GUESSES + 1];
+
+        public long games() {
+            return games;
+        }
+
+        public long wins() {
+            return wins;
+        }
+
+        public long malformedLines() {
+            return malformed;
+        }
+
+        // Guesses that could not have been the secret given the feedback before them.
+        public long inconsistentGuesses() {
+            return inconsistent;
+        }
+
+        // Number of games won in k guesses.
+        public long winsIn(int k) {
+            return winsIn[k];
+        }
+
+        // Number of games whose first guess was word.
+        public long firstGuessCount(String word) {
+            return firstGuesses.get(PackedWord.pack(word), 0);
+        }
+
+        // Number of games played against secret, and how many of them were won.
+        public long gamesWith(String secret) {
+            return secrets.get(PackedWord.pack(secret), GAMES);
+        }
+
+        public long winsWith(String secret) {
+            return secrets.get(PackedWord.pack(secret), WINS);
+        }
+
+        void add(Stats other) {
+            secrets.addAll(other.secrets);
+            firstGuesses.addAll(other.firstGuesses);
+            games += other.games;
+            wins += other.wins;
+            winGuesses += other.winGuesses;
+            guesses += other.guesses;
+            inconsistent += other.inconsistent;
+            malformed += other.malformed;
+            for (int k = 0; k < winsIn.length; k++) winsIn[k] += other.winsIn[k];
+        }
+
+        // Prints the totals, the top first guesses and the hardest secrets. If
+        // solver is not null, wins are compared with the number of guesses the
+        // solver needs for the same secret (only for secrets in its dictionary).
+        public void report(PrintStream out, WordleSolver solver, int top) {
+            out.printf("%d games, %d won (%.1f%%), %.3f guesses per win, %d malformed lines%n",
+                       games, wins, percent(wins, games), (double) winGuesses / Math.max(wins, 1), malformed);
+            out.printf("%d guesses, %d (%.1f%%) could not have been the secret%n",
+                       guesses, inconsistent, percent(inconsistent, guesses));
+
+            out.println("Most common first guesses:");
+            int[] first = firstGuesses.words();
+            sortBy(first, w -> -firstGuesses.get(w, 0));
+            for (int i = 0; i < Math.min(top, first.length); i++) {
+                out.printf("  %s %8d (%.1f%%)%n", PackedWord.toString(first[i]), firstGuesses.get(first[i], 0),
+                           percent(firstGuesses.get(first[i], 0), games));
+            }
+
+            out.println("Hardest secrets (by loss rate, then guesses per win):");
+            int[] words = secrets.words();
+            sortBy(words, w -> {
+                long g = secrets.get(w, GAMES);
+                long won = secrets.get(w, WINS);
+                double lossRate = 1 - (double) won / g;
+                double perWin = (double) secrets.get(w, WIN_GUESSES) / Math.max(won, 1);
+                return -(lossRate * 1000 + perWin);
+            });
+            for (int i = 0; i < Math.min(top, words.length); i++) {
+                int w = words[i];
+                long g = secrets.get(w, GAMES);
+                long won = secrets.get(w, WINS);
+                out.printf("  %s %8d games, %.1f%% lost, %.2f guesses per win%n", PackedWord.toString(w), g,
+                           100 - percent(won, g), (double) secrets.get(w, WIN_GUESSES) / Math.max(won, 1));
+            }
+
+            if (solver != null) {
+                long compared = 0;
+                long gap = 0;
+                for (int w : words) {
+                    int index = solver.indexOf(PackedWord.toString(w));
+                    long won = secrets.get(w, WINS);
+                    if (index < 0 || won == 0) continue;
+                    int optimal = solver.solve(solver.word(index));
+                    gap += secrets.get(w, WIN_GUESSES) - won * optimal;
+                    compared += won;
+                }
+                out.printf("Distance from the solver: %.3f extra guesses per win (over %d wins)%n",
+                           (double) gap / Math.max(compared, 1), compared);
+            }
+        }
+
+        private static double percent(long part, long whole) {
+            return (whole == 0) ? 0 : 100.0 * part / whole;
+        }
+    }
+
+    interface WordKey {
+        double of(int word);
+    }
+
+    // Sorts packed words by key, then alphabetically.
+    static void sortBy(int[] words, WordKey key) {
+        Integer[] boxed = new Integer[words.length];
+        for (int i = 0; i < words.length; i++) boxed[i] = words[i];
+        Arrays.sort(boxed, (a, b) -> {
+            int c = Double.compare(key.of(a), key.of(b));
+            return (c != 0) ? c : PackedWord.toString(a).compareTo(PackedWord.toString(b));
+        });
+        for (int i = 0; i < words.length; i++) words[i] = boxed[i];
+    }
+
+    // Analyzes the archive with the given number of threads.
+    public static Stats analyze(Path archive, int threads) throws IOException {
+        return analyze(archive, threads, CHUNK);
+    }
+
+    // Same as analyze(archive, threads), reading chunk bytes at a time; no
+    // range is made smaller than one chunk.
+    static Stats analyze(Path archive, int threads, int chunk) throws IOException {
+        try (FileChannel channel = FileChannel.open(archive, StandardOpenOption.READ)) {
+            long size = channel.size();
+            int parts = (int) Math.max(1, Math.min(threads, size / chunk + 1));
+            ExecutorService pool = Executors.newFixedThreadPool(parts);
+            try {
+                List<Future<Stats>> futures = new ArrayList<>();
+                for (int p = 0; p < parts; p++) {
+                    long from = size * p / parts;
+                    long to = size * (p + 1) / parts;
+                    futures.add(pool.submit(() -> new RangeReader(channel, from, to, chunk).call()));
+                }
+                Stats total = new Stats();
+                for (Future<Stats> future : futures) {
+                    total.add(future.get());
+                }
+                return total;
+            } catch (Exception e) {
+                if (e.getCause() instanceof IOException) throw (IOException) e.getCause();
+                throw new IllegalStateException("archive analysis failed", e);
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    // Replays the lines that start in [from, to) of one file; a line that
+    // crosses to belongs to this range, and one that crosses from belongs to
+    // the range before.
+    static final class RangeReader {
+        private final FileChannel channel;
+        private final long from;
+        private final long to;
+        private final Stats stats = new Stats();
+        private final HardModeConstraints constraints = new HardModeConstraints(PackedWord.LENGTH);
+        private final int[] words = new int[MAX_GUESSES + 1];
+        private ByteBuffer buffer;
+
+        RangeReader(FileChannel channel, long from, long to, int chunk) {
+            this.channel = channel;
+            this.from = from;
+            this.to = to;
+            this.buffer = ByteBuffer.allocate(chunk);
+        }
+
+        Stats call() throws IOException {
+            if (from >= to) return stats;
+            boolean skipping = false;
+            if (from > 0) {
+                // start after the line in progress at from, unless from is a line start
+                ByteBuffer previous = ByteBuffer.allocate(1);
+                channel.read(previous, from - 1);
+                skipping = previous.get(0) != '\n';
+            }
+            // buffer[0] holds the byte at file offset base
+            long base = from;
+            while (true) {
+                int n = channel.read(buffer, base + buffer.position());
+                buffer.flip();
+                int limit = buffer.limit();
+                int start = 0;
+                for (int i = 0; i < limit; i++) {
+                    if (buffer.get(i) != '\n') continue;
+                    if (skipping) skipping = false;
+                    else replay(buffer, start, i);
+                    start = i + 1;
+                    if (base + start >= to) return stats;
+                }
+                if (n < 0) {
+                    // the last line of the file has no newline
+                    if (!skipping && start < limit) replay(buffer, start, limit);
+                    return stats;
+                }
+                // keep the partial line at the front, growing the buffer for long lines
+                base += start;
+                buffer.position(start);
+                buffer.compact();
+                if (!buffer.hasRemaining() && buffer.capacity() >= MAX_LINE) {
+                    // too long to be a game: drop what is buffered and skip to its end
+                    if (!skipping) stats.malformed++;
+                    skipping = true;
+                    base += buffer.position();
+                    buffer.clear();
+                } else if (!buffer.hasRemaining()) {
+                    ByteBuffer bigger = ByteBuffer.allocate(Math.min(buffer.capacity() * 2, MAX_LINE));
+                    buffer.flip();
+                    bigger.put(buffer);
+                    buffer = bigger;
+                }
+            }
+        }
+
+        // Replays the game on bytes [start, end) of buffer.
+        private void replay(ByteBuffer buffer, int start, int end) {
+            int count = 0;
+            int i = start;
+            while (i < end) {
+                byte b = buffer.get(i);
+                if (b == ',' || b == ' ' || b == '\t' || b == '\r') {
+                    i++;
+                    continue;
+                }
+                int word = 0;
+                int length = 0;
+                for (int j = i + PackedWord.LENGTH - 1; j >= i && j < end; j--) {
+                    int c = buffer.get(j) | 0x20;
+                    if (c < 'a' || c > 'z') break;
+                    word = (word << PackedWord.BITS) | (c - 'a');
+                    length++;
+                }
+                int next = i + PackedWord.LENGTH;
+                if (length != PackedWord.LENGTH || count == words.length
+                    || (next < end && !separator(buffer.get(next)))) {
+                    stats.malformed++;
+                    return;
+                }
+                words[count++] = word;
+                i = next;
+            }
+            if (count == 0) return;
+            if (count == 1) {
+                stats.malformed++;
+                return;
+            }
+
+            int secret = words[0];
+            int mask = PackedWord.mask(secret);
+            constraints.reset();
+            int attempts = 0;
+            boolean won = false;
+            for (int k = 1; k < count && !won; k++) {
+                int guess = words[k];
+                attempts++;
+                if (k > 1 && !constraints.matches(guess)) stats.inconsistent++;
+                int pattern = PackedWord.feedback(secret, mask, guess);
+                constraints.add(guess, pattern);
+                won = pattern == PatternMatrix.ALL_GREEN;
+            }
+            stats.games++;
+            stats.guesses += attempts;
+            stats.firstGuesses.add(words[1], 0, 1);
+            stats.secrets.add(secret, Stats.GAMES, 1);
+            if (won) {
+                stats.wins++;
+                stats.winGuesses += attempts;
+                stats.winsIn[attempts]++;
+                stats.secrets.add(secret, Stats.WINS, 1);
+                stats.secrets.add(secret, Stats.WIN_GUESSES, attempts);
+            }
+        }
+
+        private static boolean separator(byte b) {
+            return b == ',' || b == ' ' || b == '\t' || b == '\r';
+        }
+    }
+
+    // Writes a sample archive of games played by a solver that sometimes
+    // guesses a random word instead of its best one.
+    public static void writeSample(Path archive, String[] dict, int games, long seed) throws IOException {
+        SplittableRandom random = new SplittableRandom(seed);
+        WordleSolver solver = new WordleSolver(dict);
+        char[] row = new char[PackedWord.LENGTH];
+        try (BufferedWriter writer = Files.newBufferedWriter(archive, StandardCharsets.US_ASCII)) {
+            for (int g = 0; g < games; g++) {
+                String secret = dict[random.nextInt(dict.length)];
+                StringBuilder line = new StringBuilder(secret);
+                solver.reset();
+                for (int attempt = 0; attempt < Wordle.MAX_ATTEMPTS; attempt++) {
+                    int guess = (random.nextInt(3) == 0) ? random.nextInt(dict.length) : solver.nextGuess();
+                    line.append(',').append(dict[guess]);
+                    Wordle.computeFeedback(secret, dict[guess], row);
+                    if (Wordle.isAllGreen(row)) break;
+                    solver.update(guess, Wordle.encodeFeedback(row));
+                    if (solver.candidateCount() == 0) break;
+                }
+                writer.write(line.toString());
+                writer.newLine();
+            }
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        String[] dict = Wordle.readDictionary("dictionary.txt");
+        if (args.length == 3 && args[0].equals("--generate")) {
+            writeSample(Paths.get(args[1]), dict, Integer.parseInt(args[2]), 1);
+            return;
+        }
+        if (args.length == 0) {
+            System.out.println("Usage: java GameArchiveAnalyzer archive.txt [threads]");
+            return;
+        }
+        int threads = (args.length > 1) ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        long start = System.nanoTime();
+        Stats stats = analyze(Paths.get(args[0]), threads);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        stats.report(System.out, new WordleSolver(dict), 10);
+        System.out.printf("Replayed %d games on %d threads in %.2f s%n", stats.games(), threads, seconds);
+    }
+}
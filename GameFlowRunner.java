@@ -0,0 +1,158 @@
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Scanner;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Runs scripted game-flow cases through Wordle.run, each with its own
+ * dictionary, input and output, so that many cases run at once in one JVM
+ * instead of one at a time through dictionary.txt, System.in and System.out.
+ * Besides the cases of the robust game-flow tests it can generate any number
+ * of scripted games with known outcomes.
+ * Usage: java GameFlowRunner [games] [threads]
+ */
+public class GameFlowRunner {
+
+    // One scripted game: the dictionary Wordle.run picks from, the input
+    // typed, and text the output must and must not contain.
+    public static final class Case {
+        public final String name;
+        public final String[] dict;
+        public final String input;
+        public final String[] mustContain;
+        public final String[] mustNotContain;
+
+        public Case(String name, String[] dict, String input, String[] mustContain, String[] mustNotContain) {
+            this.name = name;
+            this.dict = dict;
+            this.input = input;
+            this.mustContain = mustContain;
+            this.mustNotContain = mustNotContain;
+        }
+    }
+
+    // The outcome of one case: null failure if it passed.
+    public static final class Outcome {
+        public final Case testCase;
+        public final String output;
+        public final String failure;
+
+        Outcome(Case testCase, String output, String failure) {
+            this.testCase = testCase;
+            this.output = output;
+            this.failure = failure;
+        }
+
+        public boolean passed() {
+            return failure == null;
+        }
+    }
+
+    // The scenarios of TesterWordle's robust game-flow tests.
+    public static List<Case> robustCases() {
+        List<Case> cases = new ArrayList<>();
+        cases.add(new Case("win", new String[] {"APPLE"}, "HELPS\nAPPLE\n",
+                           new String[] {"Guess 1: HELPS", "_YYY_", "Guess 2: APPLE", "Congratulations"}, new String[0]));
+        cases.add(new Case("lose", new String[] {"APPLE"}, "ZZZZZ\nZZZZZ\nZZZZZ\nZZZZZ\nZZZZZ\nZZZZZ\n",
+                           new String[] {"Guess 6:", "secret word was"}, new String[] {"Congratulations"}));
+        cases.add(new Case("invalid", new String[] {"APPLE"}, "ABC\nAPPLE\n",
+                           new String[] {"Invalid", "Guess 1: APPLE"}, new String[] {"Guess 1: ABC"}));
+        return cases;
+    }
+
+    // Returns games scripted games against words of dict: up to six guesses
+    // drawn from dict, with an invalid entry now and then. The expected result
+    // line follows from where the secret appears in the script.
+    public static List<Case> scriptedCases(String[] dict, int games, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<Case> cases = new ArrayList<>(games);
+        for (int g = 0; g < games; g++) {
+            String secret = dict[random.nextInt(dict.length)];
+            StringBuilder input = new StringBuilder();
+            int wonAt = 0;
+            for (int attempt = 1; attempt <= Wordle.MAX_ATTEMPTS && wonAt == 0; attempt++) {
+                if (random.nextInt(8) == 0) input.append("XYZ\n");
+                String guess = (random.nextInt(4) == 0) ? secret : dict[random.nextInt(dict.length)];
+                input.append(random.nextBoolean() ? guess : guess.toLowerCase()).append('\n');
+                if (guess.equals(secret)) wonAt = attempt;
+            }
+            String[] mustContain = (wonAt > 0)
+                ? new String[] {"Guess " + wonAt + ": " + secret, "Congratulations! You guessed the word in " + wonAt + " attempts."}
+                : new String[] {"Guess " + Wordle.MAX_ATTEMPTS + ":", "The secret word was: " + secret};
+            String[] mustNotContain = (wonAt > 0) ? new String[] {"secret word was"} : new String[] {"Congratulations"};
+            cases.add(new Case("game " + g + " (" + secret + ")", new String[] {secret}, input.toString(),
+                               mustContain, mustNotContain));
+        }
+        return cases;
+    }
+
+    // Plays one case and checks its output.
+    public static Outcome play(Case c) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        PrintStream out = new PrintStream(bytes, false, StandardCharsets.UTF_8);
+        String failure = null;
+        try {
+            Wordle.run(new String[0], c.dict, new In(new Scanner(c.input)), out);
+        } catch (NoSuchElementException e) {
+            failure = "the game asked for more input than the script has";
+        }
+        out.flush();
+        String output = bytes.toString(StandardCharsets.UTF_8);
+        for (String s : c.mustContain) {
+            if (failure == null && !output.contains(s)) failure = "output is missing '" + s + "'";
+        }
+        for (String s : c.mustNotContain) {
+            if (failure == null && output.contains(s)) failure = "output contains '" + s + "'";
+        }
+        return new Outcome(c, output, failure);
+    }
+
+    // Plays every case on a pool of the given number of threads; the outcomes
+    // are in the order of cases.
+    public static List<Outcome> run(List<Case> cases, int threads) {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Outcome>> futures = new ArrayList<>(cases.size());
+            for (Case c : cases) {
+                futures.add(pool.submit(() -> play(c)));
+            }
+            List<Outcome> outcomes = new ArrayList<>(cases.size());
+            for (Future<Outcome> future : futures) {
+                outcomes.add(future.get());
+            }
+            return outcomes;
+        } catch (Exception e) {
+            throw new IllegalStateException("game-flow case could not run", e);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    public static void main(String[] args) {
+        int games = (args.length > 0) ? Integer.parseInt(args[0]) : 10000;
+        int threads = (args.length > 1) ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        List<Case> cases = robustCases();
+        cases.addAll(scriptedCases(Wordle.readDictionary("dictionary.txt"), games, 42));
+
+        long start = System.nanoTime();
+        List<Outcome> outcomes = run(cases, threads);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        int failed = 0;
+        for (Outcome outcome : outcomes) {
+            if (outcome.passed()) continue;
+            failed++;
+            if (failed <= 10) {
+                System.out.println("Failed: " + outcome.testCase.name + ": " + outcome.failure);
+            }
+        }
+        System.out.printf("%d game-flow cases on %d threads: %d failed (%.2f s)%n", cases.size(), threads, failed, seconds);
+    }
+}
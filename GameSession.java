@@ -0,0 +1,97 @@
+/**
+ * The flow of one interactive game, driven by its input instead of reading
+ * it: start() shows the first prompt and every offer(token) plays one line
+ * of input, producing exactly what Wordle.playGame shows for it. Blocking
+ * callers loop over In.readString(); a selector can call offer() whenever a
+ * token arrives, so a session never holds a thread while it waits.
+ * Usage: GameSession s = new GameSession(secret, renderer, null, 6, false); s.start(); s.offer("PLANE");
+ */
+public final class GameSession {
+
+    private final WordleGame game;
+    private final BoardRenderer renderer;
+    private final WordIndex validWords;
+    private final HardModeConstraints hard;
+    private final AbsurdleGame adversary;
+    private final WordleMetrics metrics;
+
+    // Creates a session against secret that records into Wordle.metrics() if it is set.
+    // If validWords is not null a guess must also be a dictionary word; in hard
+    // mode every guess must use the green and yellow hints revealed so far.
+    public GameSession(String secret, BoardRenderer renderer, WordIndex validWords, int maxAttempts, boolean hardMode) {
+        this(secret, null, renderer, validWords, maxAttempts, hardMode);
+    }
+
+    // Creates an adversarial session: the secret is whatever adversary keeps
+    // after each guess, and is only revealed when the game is lost.
+    public GameSession(AbsurdleGame adversary, BoardRenderer renderer, WordIndex validWords, int maxAttempts, boolean hardMode) {
+        this(adversary.secret(), adversary, renderer, validWords, maxAttempts, hardMode);
+    }
+
+    private GameSession(String secret, AbsurdleGame adversary, BoardRenderer renderer, WordIndex validWords,
+                        int maxAttempts, boolean hardMode) {
+        this.adversary = adversary;
+        this.metrics = Wordle.metrics();
+        this.game = new WordleGame(secret, maxAttempts, metrics);
+        this.renderer = renderer;
+        this.validWords = validWords;
+        this.hard = hardMode ? new HardModeConstraints(game.wordLength()) : null;
+    }
+
+    // Shows the first prompt.
+    public void start() {
+        renderer.prompt(game.wordLength());
+    }
+
+    // Plays one token of input: rejects it with a message, or plays it as a
+    // guess and shows the board. Then prompts for the next guess, or reports
+    // the win or loss. Returns true while the game goes on.
+    public boolean offer(String input) {
+        if (game.isOver()) throw new IllegalStateException("the game is over");
+        String guess = input.toUpperCase();
+        if (!game.isValidGuess(guess) || (validWords != null && !validWords.isValidWord(guess))) {
+            if (metrics != null) metrics.invalidGuess();
+            renderer.invalidGuess();
+            renderer.prompt(game.wordLength());
+            return true;
+        }
+        String violation = (hard == null) ? null : hard.violation(guess);
+        if (violation != null) {
+            if (metrics != null) metrics.invalidGuess();
+            renderer.hardModeViolation(violation);
+            renderer.prompt(game.wordLength());
+            return true;
+        }
+
+        // Let the adversary pick the secret, then store guess, compute feedback and print board
+        if (adversary != null) {
+            adversary.narrow(guess);
+            game.moveSecret(adversary.secret());
+        }
+        char[] result = game.guess(guess);
+        if (hard != null) hard.add(guess, result);
+        renderer.board(game.guesses(), game.results(), game.attempts() - 1);
+
+        if (game.isWon()) {
+            renderer.won(game.attempts());
+        } else if (game.isOver()) {
+            renderer.lost(game.secret());
+        } else {
+            renderer.prompt(game.wordLength());
+        }
+        return !game.isOver();
+    }
+
+    public boolean isOver() {
+        return game.isOver();
+    }
+
+    public boolean isWon() {
+        return game.isWon();
+    }
+
+    // The game being played.
+    public WordleGame game() {
+        return game;
+    }
+}
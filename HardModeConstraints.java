@@ -0,0 +1,135 @@
+import java.util.Arrays;
+
+/**
+ * The hints revealed so far in a game, compiled into letter bitmasks (bit c
+ * for letter 'A' + c) so that a word is checked in a few bitwise operations
+ * instead of against every earlier row.
+ * Hard mode: a guess must keep every green letter in place and contain every
+ * yellow letter. Consistency (for candidate secrets) is stricter: the word
+ * must give the same feedback to every earlier guess. Since 'Y' only says a
+ * letter occurs somewhere, the feedback reveals which letters are present
+ * and absent but never how often, so letter counts reduce to a required mask
+ * and to letters removed from every position.
+ * Usage: hard.add(guess, resultRow); if (!hard.allows(next)) System.out.println(hard.violation(next));
+ */
+public final class HardModeConstraints {
+
+    // Every letter.
+    private static final int ALL = (1 << 26) - 1;
+
+    private final int wordLength;
+
+    // letters a hard-mode guess may have at each position (a single letter once green)
+    private final int[] fixed;
+
+    // letters a consistent word may have at each position
+    private final int[] allowed;
+
+    // letters every guess and every consistent word must contain
+    private int required;
+
+    // Creates constraints for words of the given length, with nothing revealed yet.
+    public HardModeConstraints(int wordLength) {
+        this.wordLength = wordLength;
+        this.fixed = new int[wordLength];
+        this.allowed = new int[wordLength];
+        reset();
+    }
+
+    // Forgets every hint.
+    public void reset() {
+        Arrays.fill(fixed, ALL);
+        Arrays.fill(allowed, ALL);
+        required = 0;
+    }
+
+    // Adds the hints of guess and its feedback row (as computeFeedback fills it).
+    // A character that is not a letter reveals nothing.
+    public void add(CharSequence guess, char[] resultRow) {
+        for (int i = 0; i < wordLength; i++) {
+            add(i, bit(guess, i), resultRow[i]);
+        }
+    }
+
+    // Adds the hints of a packed 5-letter guess and its encoded feedback pattern.
+    public void add(int packedGuess, int pattern) {
+        for (int i = 0; i < wordLength; i++) {
+            int digit = pattern % 3;
+            pattern /= 3;
+            add(i, 1 << PackedWord.letter(packedGuess, i), digit == 2 ? 'G' : digit == 1 ? 'Y' : '_');
+        }
+    }
+
+    private void add(int pos, int bit, char hint) {
+        if (bit == 0) return;
+        if (hint == 'G') {
+            fixed[pos] = bit;
+            allowed[pos] = bit;
+            required |= bit;
+        } else if (hint == 'Y') {
+            allowed[pos] &= ~bit;
+            required |= bit;
+        } else {
+            for (int i = 0; i < wordLength; i++) {
+                allowed[i] &= ~bit;
+            }
+        }
+    }
+
+    // Returns true if word may be guessed in hard mode. Letters may be upper or lower case.
+    public boolean allows(CharSequence word) {
+        return violation(word) == null;
+    }
+
+    // Returns true if the packed 5-letter word may be guessed in hard mode.
+    public boolean allows(int packed) {
+        int mask = 0;
+        for (int i = 0; i < wordLength; i++) {
+            int bit = 1 << PackedWord.letter(packed, i);
+            if ((fixed[i] & bit) == 0) return false;
+            mask |= bit;
+        }
+        return (mask & required) == required;
+    }
+
+    // Returns true if the packed 5-letter word would have given every feedback added so far.
+    public boolean matches(int packed) {
+        int mask = 0;
+        for (int i = 0; i < wordLength; i++) {
+            int bit = 1 << PackedWord.letter(packed, i);
+            if ((allowed[i] & bit) == 0) return false;
+            mask |= bit;
+        }
+        return (mask & required) == required;
+    }
+
+    // Returns why word may not be guessed in hard mode, or null if it may.
+    public String violation(CharSequence word) {
+        int mask = 0;
+        for (int i = 0; i < wordLength; i++) {
+            int bit = bit(word, i);
+            if (fixed[i] != ALL && (fixed[i] & bit) == 0) {
+                return "letter " + (i + 1) + " must be " + (char) ('A' + Integer.numberOfTrailingZeros(fixed[i]));
+            }
+            mask |= bit;
+        }
+        int missing = required & ~mask;
+        if (missing != 0) {
+            return "guess must contain " + (char) ('A' + Integer.numberOfTrailingZeros(missing));
+        }
+        return null;
+    }
+
+    // The bit of letter i of word in either case, or 0 if it is not a letter.
+    private static int bit(CharSequence word, int i) {
+        char c = word.charAt(i);
+        if (c >= 'A' && c <= 'Z') return 1 << (c - 'A');
+        if (c >= 'a' && c <= 'z') return 1 << (c - 'a');
+        return 0;
+    }
+
+    // Letters every guess must contain, as a bitmask.
+    public int required() {
+        return required;
+    }
+}
@@ -15,7 +15,16 @@ import java.io.InputStream;
 import java.net.URL;
 import java.net.Socket;
 import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.InputMismatchException;
 import java.util.Locale;
 import java.util.NoSuchElementException;
@@ -75,11 +84,16 @@ public final class In {
 
     private Scanner scanner;
 
+    // the raw byte source behind the scanner, used by forEachLine();
+    // null if this input stream was created from a Scanner
+    private InputStream stream;
+
    /**
      * Initializes an input stream from standard input.
      */
     public In() {
-        scanner = new Scanner(new BufferedInputStream(System.in), CHARSET_NAME);
+        stream = new BufferedInputStream(System.in);
+        scanner = new Scanner(stream, CHARSET_NAME);
         scanner.useLocale(LOCALE);
     }
 
@@ -94,7 +108,8 @@ public final class In {
         if (socket == null) throw new IllegalArgumentException("socket argument is null");
         try {
             InputStream is = socket.getInputStream();
-            scanner = new Scanner(new BufferedInputStream(is), CHARSET_NAME);
+            stream = new BufferedInputStream(is);
+            scanner = new Scanner(stream, CHARSET_NAME);
             scanner.useLocale(LOCALE);
         }
         catch (IOException ioe) {
@@ -102,6 +117,21 @@ public final class In {
         }
     }
 
+   /**
+     * Initializes an input stream from a channel, such as a
+     * {@link java.nio.channels.SocketChannel} in blocking mode.
+     * For a non-blocking channel use {@link ChannelReader} instead.
+     *
+     * @param  channel the channel
+     * @throws IllegalArgumentException if {@code channel} is {@code null}
+     */
+    public In(ReadableByteChannel channel) {
+        if (channel == null) throw new IllegalArgumentException("channel argument is null");
+        stream = new BufferedInputStream(Channels.newInputStream(channel));
+        scanner = new Scanner(stream, CHARSET_NAME);
+        scanner.useLocale(LOCALE);
+    }
+
    /**
      * Initializes an input stream from a URL.
      *
@@ -114,7 +144,8 @@ public final class In {
         try {
             URLConnection site = url.openConnection();
             InputStream is     = site.getInputStream();
-            scanner            = new Scanner(new BufferedInputStream(is), CHARSET_NAME);
+            stream             = new BufferedInputStream(is);
+            scanner            = new Scanner(stream, CHARSET_NAME);
             scanner.useLocale(LOCALE);
         }
         catch (IOException ioe) {
@@ -135,7 +166,8 @@ public final class In {
             // for consistency with StdIn, wrap with BufferedInputStream instead of use
             // file as argument to Scanner
             FileInputStream fis = new FileInputStream(file);
-            scanner = new Scanner(new BufferedInputStream(fis), CHARSET_NAME);
+            stream = new BufferedInputStream(fis);
+            scanner = new Scanner(stream, CHARSET_NAME);
             scanner.useLocale(LOCALE);
         }
         catch (IOException ioe) {
@@ -162,7 +194,8 @@ public final class In {
                 // for consistency with StdIn, wrap with BufferedInputStream instead of use
                 // file as argument to Scanner
                 FileInputStream fis = new FileInputStream(file);
-                scanner = new Scanner(new BufferedInputStream(fis), CHARSET_NAME);
+                stream = new BufferedInputStream(fis);
+                scanner = new Scanner(stream, CHARSET_NAME);
                 scanner.useLocale(LOCALE);
                 return;
             }
@@ -187,7 +220,8 @@ public final class In {
             // site.addRequestProperty("User-Agent", "Mozilla/4.76");
 
             InputStream is     = site.getInputStream();
-            scanner            = new Scanner(new BufferedInputStream(is), CHARSET_NAME);
+            stream             = new BufferedInputStream(is);
+            scanner            = new Scanner(stream, CHARSET_NAME);
             scanner.useLocale(LOCALE);
         }
         catch (IOException ioe) {
@@ -575,6 +609,314 @@ public final class In {
 
     ///// end: section (2 of 2) of code duplicated from In to StdIn */
 
+    /**
+     * Receives the lines read by {@link In#forEachLine(LineVisitor)}.
+     */
+    public interface LineVisitor {
+
+        /**
+         * Called once per line, without its end-of-line delimiter.
+         * The {@code line} view is reused for the next line, so it is only
+         * valid during this call; use {@code line.toString()} to keep it.
+         *
+         * @param line the current line
+         */
+        void visit(CharSequence line);
+    }
+
+    /**
+     * Reads all remaining lines from this input stream and passes each one to
+     * {@code visitor}. Unlike {@link #readAllLines()}, this decodes UTF-8 bytes
+     * straight from a reusable buffer into a reusable line view, so it neither
+     * copies the whole input nor allocates per line.
+     * <p>
+     * Lines are delimited as in {@link #readLine()}. This reads the underlying
+     * bytes directly, so it must be called before any other read method.
+     *
+     * @param  visitor receives each line
+     * @return the number of lines read
+     * @throws IllegalArgumentException if {@code visitor} is {@code null}
+     * @throws IllegalStateException if this input stream was created from a
+     *         {@link Scanner}, or if the input cannot be read
+     */
+    public long forEachLine(LineVisitor visitor) {
+        if (visitor == null) throw new IllegalArgumentException("visitor argument is null");
+        if (stream == null) throw new IllegalStateException("forEachLine() is not supported on a Scanner source");
+        try {
+            return new LineReader(stream).forEach(visitor);
+        }
+        catch (IOException ioe) {
+            throw new IllegalStateException("Could not read input", ioe);
+        }
+    }
+
+    // Decodes UTF-8 lines from a byte stream into one reusable char buffer,
+    // which doubles as the CharSequence handed to the visitor.
+    private static final class LineReader implements CharSequence {
+        private final InputStream is;
+        private final byte[] buf = new byte[8192];
+        private int pos;
+        private int limit;
+        private char[] line = new char[128];
+        private int length;
+
+        LineReader(InputStream is) {
+            this.is = is;
+        }
+
+        long forEach(LineVisitor visitor) throws IOException {
+            long lines = 0;
+            boolean pending = false;
+            while (pos < limit || fill()) {
+                pending = true;
+                int b = buf[pos++] & 0xFF;
+                int c;
+                if (b < 0x80) c = b;
+                else          c = decode(b);
+
+                if (c == '\r') {
+                    // \r\n counts as a single delimiter
+                    if ((pos < limit || fill()) && buf[pos] == '\n') pos++;
+                }
+                else if (c != '\n' && c != 0x0085 && c != 0x2028 && c != 0x2029) {
+                    append(c);
+                    continue;
+                }
+                visitor.visit(this);
+                lines++;
+                length = 0;
+                pending = false;
+            }
+            if (pending) {
+                visitor.visit(this);
+                lines++;
+                length = 0;
+            }
+            return lines;
+        }
+
+        // refills the byte buffer; returns false at end of input
+        private boolean fill() throws IOException {
+            int n = is.read(buf, 0, buf.length);
+            pos = 0;
+            limit = (n > 0) ? n : 0;
+            return n > 0;
+        }
+
+        // decodes the rest of a multi-byte sequence whose lead byte is b;
+        // malformed input decodes to U+FFFD
+        private int decode(int b) throws IOException {
+            int extra;
+            int cp;
+            if      ((b & 0xE0) == 0xC0) { extra = 1; cp = b & 0x1F; }
+            else if ((b & 0xF0) == 0xE0) { extra = 2; cp = b & 0x0F; }
+            else if ((b & 0xF8) == 0xF0) { extra = 3; cp = b & 0x07; }
+            else return 0xFFFD;
+            for (int i = 0; i < extra; i++) {
+                if (pos == limit && !fill()) return 0xFFFD;
+                int next = buf[pos] & 0xFF;
+                if ((next & 0xC0) != 0x80) return 0xFFFD;
+                pos++;
+                cp = (cp << 6) | (next & 0x3F);
+            }
+            return cp;
+        }
+
+        private void append(int cp) {
+            if (length + 2 > line.length) {
+                line = Arrays.copyOf(line, line.length * 2);
+            }
+            if (cp < Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+                line[length++] = (char) cp;
+            }
+            else {
+                line[length++] = Character.highSurrogate(cp);
+                line[length++] = Character.lowSurrogate(cp);
+            }
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (index < 0 || index >= length) throw new IndexOutOfBoundsException("index " + index + " out of range");
+            return line[index];
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            if (start < 0 || end > length || start > end) throw new IndexOutOfBoundsException("range " + start + ".." + end);
+            return new String(line, start, end - start);
+        }
+
+        @Override
+        public String toString() {
+            return new String(line, 0, length);
+        }
+    }
+
+    /**
+     * Incremental UTF-8 parser for input that arrives in pieces, such as a
+     * non-blocking {@link java.nio.channels.SocketChannel} served by a
+     * {@link java.nio.channels.Selector}. Bytes are appended as they arrive
+     * with {@link #read(ReadableByteChannel)} or {@link #feed(ByteBuffer)};
+     * {@link #pollString()} and {@link #pollLine()} then return the next token
+     * or line once it is complete, or {@code null} if more input is needed.
+     * <p>
+     * Tokens and lines are delimited exactly as in {@link #readString()} and
+     * {@link #readLine()}: a token is a maximal run of non-whitespace and is
+     * only complete once whitespace or the end of input follows it, and a line
+     * ends at \n, \r, \r\n, 0x2028, 0x2029 or 0x0085.
+     */
+    public static final class ChannelReader {
+        private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                                                   .onMalformedInput(CodingErrorAction.REPLACE)
+                                                   .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+        // bytes not decoded yet (an incomplete multi-byte sequence), in write mode
+        private ByteBuffer bytes = ByteBuffer.allocate(4096);
+
+        // decoded characters not consumed yet are chars[head .. tail-1]
+        private char[] chars = new char[4096];
+        private int head;
+        private int tail;
+        private boolean ended;
+        private boolean flushed;
+
+        /**
+         * Reads whatever bytes {@code channel} has available without waiting
+         * for more, if it is in non-blocking mode.
+         *
+         * @param  channel the channel
+         * @return the number of bytes read, or -1 at the end of input
+         * @throws IOException if the channel cannot be read
+         */
+        public int read(ReadableByteChannel channel) throws IOException {
+            if (!bytes.hasRemaining()) bytes = grow(bytes);
+            int n = channel.read(bytes);
+            if (n < 0) ended = true;
+            decode();
+            return n;
+        }
+
+        /**
+         * Appends the remaining bytes of {@code src}.
+         *
+         * @param src the bytes that arrived
+         */
+        public void feed(ByteBuffer src) {
+            while (bytes.remaining() < src.remaining()) bytes = grow(bytes);
+            bytes.put(src);
+            decode();
+        }
+
+        /**
+         * Returns the number of decoded characters not consumed yet. After
+         * polling every complete token or line this is the length of the
+         * incomplete one, which grows for as long as no delimiter arrives;
+         * a caller reading from an untrusted peer checks it against a limit.
+         *
+         * @return the number of buffered characters
+         */
+        public int pending() {
+            return tail - head;
+        }
+
+        /**
+         * Marks the end of input, so that a final token or line without a
+         * delimiter can be returned.
+         */
+        public void end() {
+            ended = true;
+            decode();
+        }
+
+        /**
+         * Returns true once the end of input has been reached.
+         *
+         * @return {@code true} if no more bytes will arrive
+         */
+        public boolean isEnded() {
+            return ended;
+        }
+
+        /**
+         * Returns the next token if it is complete, skipping whitespace before it.
+         *
+         * @return the next token, or {@code null} if more input is needed
+         *         (or the input has ended with no more tokens)
+         */
+        public String pollString() {
+            while (head < tail && Character.isWhitespace(chars[head])) head++;
+            int end = head;
+            while (end < tail && !Character.isWhitespace(chars[end])) end++;
+            if (end == head || (end == tail && !ended)) return null;
+            String token = new String(chars, head, end - head);
+            head = end;
+            return token;
+        }
+
+        /**
+         * Returns the rest of the current line if it is complete, and consumes
+         * its end-of-line delimiter.
+         *
+         * @return the line, or {@code null} if more input is needed
+         *         (or the input has ended)
+         */
+        public String pollLine() {
+            for (int i = head; i < tail; i++) {
+                char c = chars[i];
+                if (c != '\n' && c != '\r' && c != 0x0085 && c != 0x2028 && c != 0x2029) continue;
+                int next = i + 1;
+                if (c == '\r') {
+                    // \r\n counts as a single delimiter, so wait for the next character
+                    if (next == tail && !ended) return null;
+                    if (next < tail && chars[next] == '\n') next++;
+                }
+                String line = new String(chars, head, i - head);
+                head = next;
+                return line;
+            }
+            if (!ended || head == tail) return null;
+            String line = new String(chars, head, tail - head);
+            head = tail;
+            return line;
+        }
+
+        // decodes as many buffered bytes as possible into chars
+        private void decode() {
+            if (head > 0) {
+                System.arraycopy(chars, head, chars, 0, tail - head);
+                tail -= head;
+                head = 0;
+            }
+            if (flushed) return;
+            bytes.flip();
+            while (true) {
+                CharBuffer out = CharBuffer.wrap(chars, tail, chars.length - tail);
+                CoderResult result = decoder.decode(bytes, out, ended);
+                if (ended && !result.isOverflow()) {
+                    result = decoder.flush(out);
+                    flushed = !result.isOverflow();
+                }
+                tail = out.position();
+                if (!result.isOverflow()) break;
+                chars = Arrays.copyOf(chars, chars.length * 2);
+            }
+            bytes.compact();
+        }
+
+        private static ByteBuffer grow(ByteBuffer buffer) {
+            ByteBuffer bigger = ByteBuffer.allocate(buffer.capacity() * 2);
+            buffer.flip();
+            bigger.put(buffer);
+            return bigger;
+        }
+    }
+
    /**
      * Closes this input stream.
      */
@@ -0,0 +1,231 @@
+import java.io.PrintStream;
+import java.util.Arrays;
+
+/**
+ * A game on several boards at once ("Quordle" for 4): every guess is scored
+ * against all the secrets that are still unsolved, and the game is won when
+ * every board is solved within the attempt limit. Secrets are kept as
+ * PackedWord ints with their presence masks in parallel arrays, so a guess
+ * is packed once and scored in one pass over the active boards; a solved
+ * board is swapped out of the active range, and nothing is allocated per guess.
+ * The pass is scalar: each board costs one SWAR PackedWord.feedback (all
+ * five letters compared at once inside an int). It does not use
+ * jdk.incubator.vector, because that module would need --add-modules for
+ * every javac and java run of this tree, and at 32 boards or fewer the
+ * pattern lookup that follows each lane would not vectorize anyway.
+ * Usage: java MultiBoardGame [boards]   (default 4, at most 32)
+ */
+public final class MultiBoardGame {
+
+    // Largest number of boards in one game.
+    public static final int MAX_BOARDS = 32;
+
+    private final int boards;
+    private final int maxAttempts;
+    private final String[] secrets;
+
+    // active boards occupy slots [0, active): their secret, mask and board number
+    private final int[] packed;
+    private final int[] masks;
+    private final int[] board;
+    private int active;
+
+    // guess of each attempt, and the pattern of each (attempt, board); -1 once the board is solved
+    private final int[] guesses;
+    private final int[] patterns;
+    private final int[] solvedAt;
+    private int attempts;
+
+    // Starts a game against secrets with the usual allowance of boards + 5 guesses.
+    public MultiBoardGame(String[] secrets) {
+        this(secrets, secrets.length + 5);
+    }
+
+    // Starts a game against secrets (5-letter words, 1 to 32 of them) that allows maxAttempts guesses.
+    public MultiBoardGame(String[] secrets, int maxAttempts) {
+        if (secrets.length < 1 || secrets.length > MAX_BOARDS) {
+            throw new IllegalArgumentException("a game has 1 to " + MAX_BOARDS + " boards, not " + secrets.length);
+        }
+        if (maxAttempts < 1) throw new IllegalArgumentException("maxAttempts must be positive: " + maxAttempts);
+        this.boards = secrets.length;
+        this.maxAttempts = maxAttempts;
+        this.secrets = new String[boards];
+        this.packed = new int[boards];
+        this.masks = new int[boards];
+        this.board = new int[boards];
+        this.guesses = new int[maxAttempts];
+        this.patterns = new int[maxAttempts * boards];
+        this.solvedAt = new int[boards];
+        reset(secrets);
+    }
+
+    // Starts a new game against secrets on these boards; there must be as many secrets as before.
+    public void reset(String[] secrets) {
+        if (secrets.length != boards) {
+            throw new IllegalArgumentException("expected " + boards + " secrets, not " + secrets.length);
+        }
+        for (int b = 0; b < boards; b++) {
+            if (secrets[b].length() != PackedWord.LENGTH) {
+                throw new IllegalArgumentException("secret \"" + secrets[b] + "\" is not " + PackedWord.LENGTH + " letters long");
+            }
+            this.secrets[b] = secrets[b].toUpperCase();
+            packed[b] = PackedWord.pack(secrets[b]);
+            masks[b] = PackedWord.mask(packed[b]);
+            board[b] = b;
+            solvedAt[b] = 0;
+        }
+        active = boards;
+        attempts = 0;
+    }
+
+    // Returns true if guess is a 5-letter word that can be played.
+    public boolean isValidGuess(String guess) {
+        if (guess.length() != PackedWord.LENGTH) return false;
+        for (int i = 0; i < PackedWord.LENGTH; i++) {
+            char c = Character.toUpperCase(guess.charAt(i));
+            if (c < 'A' || c > 'Z') return false;
+        }
+        return true;
+    }
+
+    // Plays guess, which must be valid, against every unsolved board and
+    // returns the number of boards it solved.
+    public int guess(String guess) {
+        if (isOver()) throw new IllegalStateException("the game is over");
+        if (!isValidGuess(guess)) throw new IllegalArgumentException("guess \"" + guess + "\" is not a " + PackedWord.LENGTH + "-letter word");
+        int g = PackedWord.pack(guess);
+        int base = attempts * boards;
+        guesses[attempts] = g;
+        Arrays.fill(patterns, base, base + boards, -1);
+        attempts++;
+        int solved = 0;
+        int k = 0;
+        // one scalar SWAR feedback per active board; see the class comment
+        while (k < active) {
+            int p = PackedWord.feedback(packed[k], masks[k], g);
+            patterns[base + board[k]] = p;
+            if (p != PatternMatrix.ALL_GREEN) {
+                k++;
+                continue;
+            }
+            // solved: move the last active board into this slot
+            solvedAt[board[k]] = attempts;
+            solved++;
+            active--;
+            packed[k] = packed[active];
+            masks[k] = masks[active];
+            board[k] = board[active];
+        }
+        return solved;
+    }
+
+    public int boardCount() {
+        return boards;
+    }
+
+    public int maxAttempts() {
+        return maxAttempts;
+    }
+
+    // Number of guesses played so far.
+    public int attempts() {
+        return attempts;
+    }
+
+    // Number of boards not solved yet.
+    public int activeCount() {
+        return active;
+    }
+
+    public boolean isOver() {
+        return active == 0 || attempts == maxAttempts;
+    }
+
+    public boolean isWon() {
+        return active == 0;
+    }
+
+    public String secret(int b) {
+        return secrets[b];
+    }
+
+    // The attempt (1-based) that solved board b, or 0 if it is unsolved.
+    public int solvedAt(int b) {
+        return solvedAt[b];
+    }
+
+    // The guess of the given attempt (0-based) as a String.
+    public String guessAt(int attempt) {
+        return PackedWord.toString(guesses[attempt]);
+    }
+
+    // The encoded pattern of the given attempt (0-based) on board b, or -1 if
+    // the board was already solved before that attempt.
+    public int pattern(int attempt, int b) {
+        return patterns[attempt * boards + b];
+    }
+
+    // Appends the board up to the last attempt to sb, one line per guess with
+    // a result column per board; solved boards show blanks after their last guess.
+    public void appendBoard(StringBuilder sb) {
+        String newline = System.lineSeparator();
+        char[] row = new char[PackedWord.LENGTH];
+        sb.append("Current board:").append(newline);
+        for (int a = 0; a < attempts; a++) {
+            sb.append("Guess ").append(a + 1).append(": ");
+            PackedWord.unpack(guesses[a], row);
+            sb.append(row).append("  ");
+            for (int b = 0; b < boards; b++) {
+                int p = pattern(a, b);
+                sb.append(' ');
+                if (p < 0) sb.append("     ");
+                else {
+                    Wordle.decodeFeedback(p, row);
+                    sb.append(row);
+                }
+            }
+            sb.append(newline);
+        }
+        sb.append(newline);
+    }
+
+    // Plays one game against secrets, reading guesses from inp and writing to out.
+    // If validWords is not null a guess must also be a dictionary word. Returns true if the player won.
+    public static boolean play(String[] secrets, In inp, PrintStream out, WordIndex validWords) {
+        MultiBoardGame game = new MultiBoardGame(secrets);
+        StringBuilder frame = new StringBuilder(256);
+        while (!game.isOver()) {
+            out.print("Enter your guess (" + PackedWord.LENGTH + "-letter word, " + game.activeCount() + " boards left): ");
+            out.flush();
+            if (inp.isEmpty()) break;
+            String guess = inp.readString().toUpperCase();
+            if (!game.isValidGuess(guess) || (validWords != null && !validWords.isValidWord(guess))) {
+                out.println("Invalid word. Please try again.");
+                continue;
+            }
+            game.guess(guess);
+            frame.setLength(0);
+            game.appendBoard(frame);
+            out.append(frame);
+        }
+        if (game.isWon()) {
+            out.println("Congratulations! You solved all " + secrets.length + " boards in " + game.attempts() + " attempts.");
+        } else {
+            out.println("Sorry, you did not solve every board.");
+            for (int b = 0; b < secrets.length; b++) {
+                out.println("Board " + (b + 1) + ": " + game.secret(b) + (game.solvedAt(b) > 0 ? " (solved)" : ""));
+            }
+        }
+        out.flush();
+        return game.isWon();
+    }
+
+    public static void main(String[] args) {
+        int boards = (args.length > 0) ? Integer.parseInt(args[0]) : 4;
+        String[] dict = Wordle.wordsOfLength(Wordle.readDictionary("dictionary.txt"), PackedWord.LENGTH);
+        String[] secrets = new SecretPicker(dict).sample(boards, SecretPicker.seeded(System.nanoTime()));
+        In inp = new In();
+        play(secrets, inp, System.out, new WordIndex(dict));
+        inp.close();
+    }
+}
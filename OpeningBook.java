@@ -0,0 +1,167 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * The solver's first guess, and its second guess for every feedback pattern
+ * of the first, which depend only on the dictionary. They are computed once
+ * and kept in a small binary file next to the dictionary, keyed by a hash of
+ * the dictionary's words; if the words change the book is rebuilt.
+ * File layout: int magic, int version, long hash, int size, int first,
+ * then 243 ints of second guesses (-1 where no word gives that pattern).
+ * Usage: java OpeningBook [dictionary.txt]
+ */
+public final class OpeningBook {
+
+    // "WBOK" in ASCII.
+    public static final int MAGIC = 0x57424F4B;
+    public static final int VERSION = 1;
+
+    private final long hash;
+    private final int size;
+    private final int first;
+    private final int[] second;
+
+    private OpeningBook(long hash, int size, int first, int[] second) {
+        this.hash = hash;
+        this.size = size;
+        this.first = first;
+        this.second = second;
+    }
+
+    // Returns the book for dict, which was read from dictionaryFile: read from
+    // the book file if it matches dict, otherwise computed and written there.
+    public static OpeningBook load(String dictionaryFile, String[] dict) {
+        File file = bookFile(dictionaryFile);
+        long hash = hash(dict);
+        OpeningBook book = read(file);
+        if (book != null && book.hash == hash && book.size == dict.length) {
+            return book;
+        }
+        book = compute(dict, new WordleSolver(dict));
+        book.write(file);
+        return book;
+    }
+
+    // The book file for a dictionary file: same name, ".book" instead of ".txt".
+    public static File bookFile(String dictionaryFile) {
+        String base = dictionaryFile.endsWith(".txt") ? dictionaryFile.substring(0, dictionaryFile.length() - 4) : dictionaryFile;
+        return new File(base + ".book");
+    }
+
+    // Computes the book by asking solver for the opening guess and for the
+    // best reply to every pattern it can produce.
+    public static OpeningBook compute(String[] dict, WordleSolver solver) {
+        solver.reset();
+        int first = solver.nextGuess();
+        int[] second = new int[PatternMatrix.PATTERNS];
+        for (int p = 0; p < second.length; p++) {
+            solver.reset();
+            solver.update(first, p);
+            second[p] = (solver.candidateCount() == 0) ? -1 : solver.nextGuess();
+        }
+        solver.reset();
+        return new OpeningBook(hash(dict), dict.length, first, second);
+    }
+
+    // 64-bit FNV-1a hash of the words of dict, in order.
+    public static long hash(String[] dict) {
+        long h = 0xCBF29CE484222325L;
+        for (String word : dict) {
+            for (int i = 0; i < word.length(); i++) {
+                h = (h ^ word.charAt(i)) * 0x100000001B3L;
+            }
+            h = (h ^ '\n') * 0x100000001B3L;
+        }
+        return h;
+    }
+
+    // Returns true if this book was computed for dict.
+    public boolean matches(String[] dict) {
+        return size == dict.length && hash == hash(dict);
+    }
+
+    // Dictionary index of the opening guess.
+    public int first() {
+        return first;
+    }
+
+    // Dictionary index of the best second guess after the opening guess got
+    // feedback pattern, or -1 if no dictionary word gives that pattern.
+    public int second(int pattern) {
+        return second[pattern];
+    }
+
+    // Reads a book file; returns null if it is missing, unreadable, of another
+    // version or holds a guess that is not a dictionary index, so that load()
+    // recomputes it.
+    static OpeningBook read(File file) {
+        if (!file.isFile()) return null;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) return null;
+            long hash = in.readLong();
+            int size = in.readInt();
+            int first = in.readInt();
+            int[] second = new int[PatternMatrix.PATTERNS];
+            for (int p = 0; p < second.length; p++) {
+                second[p] = in.readInt();
+            }
+            if (first < 0 || first >= size) return null;
+            for (int p : second) {
+                if (p < -1 || p >= size) return null;
+            }
+            return new OpeningBook(hash, size, first, second);
+        }
+        catch (IOException e) {
+            return null;
+        }
+    }
+
+    // Writes this book to file. The book is only a cache, so a failed write is
+    // not an error. It is written to a temporary file beside file and renamed
+    // over it, so a reader never sees a half-written book.
+    void write(File file) {
+        Path target = file.toPath().toAbsolutePath();
+        Path temp = null;
+        try {
+            temp = BinaryDictionary.tempSibling(target);
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeLong(hash);
+                out.writeInt(size);
+                out.writeInt(first);
+                for (int p : second) {
+                    out.writeInt(p);
+                }
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            temp = null;
+        }
+        catch (IOException e) {
+            System.err.println("Could not write opening book " + file + ": " + e.getMessage());
+        }
+        finally {
+            BinaryDictionary.deleteQuietly(temp);
+        }
+    }
+
+    public static void main(String[] args) {
+        String dictionaryFile = (args.length > 0) ? args[0] : "dictionary.txt";
+        String[] dict = Wordle.readDictionary(dictionaryFile);
+        OpeningBook book = load(dictionaryFile, dict);
+        int replies = 0;
+        for (int p : book.second) {
+            if (p >= 0) replies++;
+        }
+        System.out.println("Opening book " + bookFile(dictionaryFile) + ": first guess " + dict[book.first]
+                           + ", " + replies + " second guesses");
+    }
+}
@@ -0,0 +1,128 @@
+/**
+ * Bit-packed words of 1 to 12 letters and their feedback kernel: the
+ * variable-length counterpart of PackedWord. A word is a long holding letter
+ * i (A=0 .. Z=25) in bits 5i..5i+4; its presence mask has bit c set if letter
+ * c occurs. Patterns use the base-3 encoding of Wordle.encodeFeedback, so a
+ * word of length L has 3^L patterns.
+ * Usage: int p = PackedKey.feedback(PackedKey.pack("BANANA"), PackedKey.pack("CABANA"), 6);
+ */
+public final class PackedKey {
+
+    // Longest word that fits in a long key.
+    public static final int MAX_LENGTH = 12;
+
+    // The top bit of each of the 12 fields, and the four bits below it.
+    private static final long HIGH = 0x0842108421084210L;
+    private static final long LOW = 0x07BDEF7BDEF7BDEFL;
+
+    // THREES[b] is the sum of 3^i over the set bits i of the 6-bit value b.
+    private static final int[] THREES = new int[64];
+
+    static {
+        for (int b = 0; b < 64; b++) {
+            int sum = 0;
+            for (int i = 5; i >= 0; i--) {
+                sum = sum * 3 + ((b >>> i) & 1);
+            }
+            THREES[b] = sum;
+        }
+    }
+
+    private PackedKey() { }
+
+    // Packs a word of 1 to 12 letters. Letters may be upper or lower case.
+    public static long pack(CharSequence word) {
+        int length = word.length();
+        if (length < 1 || length > MAX_LENGTH) {
+            throw new IllegalArgumentException("word \"" + word + "\" must have 1 to " + MAX_LENGTH + " letters");
+        }
+        long key = 0;
+        for (int i = length - 1; i >= 0; i--) {
+            key = (key << PackedWord.BITS) | PackedWord.letterIndex(word, i);
+        }
+        return key;
+    }
+
+    // Packs every word of dict.
+    public static long[] packAll(String[] dict) {
+        long[] keys = new long[dict.length];
+        for (int i = 0; i < dict.length; i++) {
+            keys[i] = pack(dict[i]);
+        }
+        return keys;
+    }
+
+    // Returns letter pos (0..25) of a key.
+    public static int letter(long key, int pos) {
+        return (int) (key >>> (PackedWord.BITS * pos)) & 0x1F;
+    }
+
+    // Returns a key of the given length as an upper-case String.
+    public static String toString(long key, int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) ('A' + letter(key, i));
+        }
+        return new String(chars);
+    }
+
+    // Returns the 26-bit letter-presence mask of a key of the given length.
+    public static int mask(long key, int length) {
+        int mask = 0;
+        for (int i = 0; i < length; i++) {
+            mask |= 1 << letter(key, i);
+        }
+        return mask;
+    }
+
+    // Returns the presence masks of every key.
+    public static int[] masks(long[] keys, int length) {
+        int[] masks = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            masks[i] = mask(keys[i], length);
+        }
+        return masks;
+    }
+
+    // Number of feedback patterns for words of the given length (3^length).
+    public static int patterns(int length) {
+        int n = 1;
+        for (int i = 0; i < length; i++) n *= 3;
+        return n;
+    }
+
+    // Returns bit i set where letter i of a equals letter i of b, for the
+    // first length letters. Same carry trick as PackedWord.greens, then
+    // Long.compress gathers the top bit of each field.
+    public static int greens(long a, long b, int length) {
+        long x = a ^ b;
+        long equal = ~(((x & LOW) + LOW) | x) & HIGH;
+        return (int) Long.compress(equal, HIGH) & ((1 << length) - 1);
+    }
+
+    // Returns bit i set where letter i of guess occurs in the word with presence mask secretMask.
+    public static int present(int secretMask, long guess, int length) {
+        int bits = 0;
+        for (int i = 0; i < length; i++) {
+            bits |= ((secretMask >>> letter(guess, i)) & 1) << i;
+        }
+        return bits;
+    }
+
+    // Returns the base-3 feedback pattern for guessing guess when the secret is
+    // secret, whose presence mask is secretMask. A green letter is also present,
+    // so digit i is green_i + present_i.
+    public static int feedback(long secret, int secretMask, long guess, int length) {
+        return threes(greens(secret, guess, length)) + threes(present(secretMask, guess, length));
+    }
+
+    // Same as feedback(secret, mask(secret, length), guess, length).
+    public static int feedback(long secret, long guess, int length) {
+        return feedback(secret, mask(secret, length), guess, length);
+    }
+
+    // Sum of 3^i over the set bits i of a 12-bit value.
+    private static int threes(int bits) {
+        return THREES[bits & 63] + 729 * THREES[(bits >>> 6) & 63];
+    }
+}
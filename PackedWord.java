@@ -0,0 +1,135 @@
+/**
+ * Bit-packed 5-letter words and a branch-free feedback kernel over them.
+ * A word is an int holding letter i (A=0 .. Z=25) in bits 5i..5i+4, and its
+ * letter-presence mask is an int with bit c set if letter c occurs in it.
+ * Feedback follows Wordle.computeFeedback: G for an exact match, Y if the
+ * letter appears anywhere in the secret, _ otherwise.
+ * Usage: int p = PackedWord.feedback(PackedWord.pack("APPLE"), PackedWord.pack("PAPAL"));
+ */
+public final class PackedWord {
+
+    // Number of letters in a packed word.
+    public static final int LENGTH = 5;
+
+    // Bits per letter field.
+    public static final int BITS = 5;
+
+    // The top bit of each field, and the four bits below it.
+    private static final int HIGH = 0x1084210;
+    private static final int LOW = 0x0F7BDEF;
+
+    // Gathers bit 5i of a word into bit 20+i (see greens()).
+    private static final int GATHER = 0x111110;
+
+    // Maps (green bits | present bits << 5) to the base-3 pattern of the row.
+    private static final byte[] PATTERN = new byte[1 << (2 * LENGTH)];
+
+    static {
+        for (int key = 0; key < PATTERN.length; key++) {
+            int pattern = 0;
+            for (int i = LENGTH - 1; i >= 0; i--) {
+                boolean green = ((key >>> i) & 1) != 0;
+                boolean present = ((key >>> (LENGTH + i)) & 1) != 0;
+                pattern = pattern * 3 + (green ? 2 : present ? 1 : 0);
+            }
+            PATTERN[key] = (byte) pattern;
+        }
+    }
+
+    private PackedWord() { }
+
+    // Packs a 5-letter word. Letters may be upper or lower case.
+    public static int pack(CharSequence word) {
+        if (word.length() != LENGTH) {
+            throw new IllegalArgumentException("word \"" + word + "\" is not " + LENGTH + " letters long");
+        }
+        int packed = 0;
+        for (int i = LENGTH - 1; i >= 0; i--) {
+            packed = (packed << BITS) | letterIndex(word, i);
+        }
+        return packed;
+    }
+
+    // Packs every word of dict.
+    public static int[] packAll(String[] dict) {
+        int[] packed = new int[dict.length];
+        for (int i = 0; i < dict.length; i++) {
+            packed[i] = pack(dict[i]);
+        }
+        return packed;
+    }
+
+    // Returns the 0..25 index of letter i of word.
+    static int letterIndex(CharSequence word, int i) {
+        char c = word.charAt(i);
+        if (c >= 'A' && c <= 'Z') return c - 'A';
+        if (c >= 'a' && c <= 'z') return c - 'a';
+        throw new IllegalArgumentException("word \"" + word + "\" contains a non-letter");
+    }
+
+    // Returns letter pos (0..25) of a packed word.
+    public static int letter(int packed, int pos) {
+        return (packed >>> (BITS * pos)) & 0x1F;
+    }
+
+    // Returns the 26-bit letter-presence mask of a packed word.
+    public static int mask(int packed) {
+        return (1 << (packed & 0x1F))
+             | (1 << ((packed >>> 5) & 0x1F))
+             | (1 << ((packed >>> 10) & 0x1F))
+             | (1 << ((packed >>> 15) & 0x1F))
+             | (1 << ((packed >>> 20) & 0x1F));
+    }
+
+    // Returns the presence masks of every packed word.
+    public static int[] masks(int[] packed) {
+        int[] masks = new int[packed.length];
+        for (int i = 0; i < packed.length; i++) {
+            masks[i] = mask(packed[i]);
+        }
+        return masks;
+    }
+
+    // Writes the letters of a packed word into dst as 'A'..'Z'.
+    public static void unpack(int packed, char[] dst) {
+        for (int i = 0; i < LENGTH; i++) {
+            dst[i] = (char) ('A' + letter(packed, i));
+        }
+    }
+
+    // Returns a packed word as a String.
+    public static String toString(int packed) {
+        char[] chars = new char[LENGTH];
+        unpack(packed, chars);
+        return new String(chars);
+    }
+
+    // Returns bit i set where letter i of a equals letter i of b.
+    // A field of a ^ b is zero exactly when its low four bits plus 0b1111
+    // do not carry into the top bit and the top bit itself is clear.
+    public static int greens(int a, int b) {
+        int x = a ^ b;
+        int equal = ~((((x & LOW) + LOW) | x)) & HIGH;
+        return (((equal >>> 4) * GATHER) >>> 20) & 0x1F;
+    }
+
+    // Returns bit i set where letter i of guess occurs in the word with presence mask secretMask.
+    public static int present(int secretMask, int guess) {
+        return  ((secretMask >>> (guess & 0x1F)) & 1)
+             | (((secretMask >>> ((guess >>> 5) & 0x1F)) & 1) << 1)
+             | (((secretMask >>> ((guess >>> 10) & 0x1F)) & 1) << 2)
+             | (((secretMask >>> ((guess >>> 15) & 0x1F)) & 1) << 3)
+             | (((secretMask >>> ((guess >>> 20) & 0x1F)) & 1) << 4);
+    }
+
+    // Returns the base-3 feedback pattern (see Wordle.encodeFeedback) for
+    // guessing guess when the secret is secret, whose presence mask is secretMask.
+    public static int feedback(int secret, int secretMask, int guess) {
+        return PATTERN[greens(secret, guess) | (present(secretMask, guess) << LENGTH)] & 0xFF;
+    }
+
+    // Same as feedback(secret, mask(secret), guess).
+    public static int feedback(int secret, int guess) {
+        return feedback(secret, mask(secret), guess);
+    }
+}
@@ -0,0 +1,231 @@
+import java.nio.ByteBuffer;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Precomputed feedback patterns for every (guess, secret) pair of a dictionary.
+ * Each feedback row is stored as one base-3 number (see Wordle.encodeFeedback)
+ * in a flat array indexed by guessIndex * size + secretIndex.
+ * The representation is picked when the matrix is built: 5-letter words use
+ * PackedWord and one byte per pair; other lengths up to 10 letters use
+ * PackedKey and one char (16 bits) per pair, since 3^10 < 2^16. A matrix
+ * can also read the same cells from a buffer mapped by SharedTables.
+ * Usage: PatternMatrix m = PatternMatrix.build(Wordle.readDictionary("dictionary.txt"));
+ */
+public final class PatternMatrix {
+
+    // Number of distinct feedback patterns for a 5-letter word (3^5).
+    public static final int PATTERNS = 243;
+
+    // The pattern of a 5-letter row that is all 'G'.
+    public static final int ALL_GREEN = PATTERNS - 1;
+
+    // Longest words a matrix can hold.
+    public static final int MAX_LENGTH = 10;
+
+    private final String[] words;
+    private final int size;
+    private final int wordLength;
+
+    // exactly one of these holds the patterns: bytes for 5-letter words, wide
+    // otherwise, or shared for a matrix mapped from a file (same cell widths)
+    private final byte[] bytes;
+    private final char[] wide;
+    private final ByteBuffer shared;
+
+    // packed words and presence masks, used only while building
+    private int[] packed;
+    private long[] keys;
+    private int[] masks;
+
+    private PatternMatrix(String[] words) {
+        long cells = (long) words.length * words.length;
+        if (cells > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("dictionary too large for a pattern matrix: " + words.length + " words");
+        }
+        int length = (words.length == 0) ? Wordle.WORD_LENGTH : words[0].length();
+        if (length < 1 || length > MAX_LENGTH) {
+            throw new IllegalArgumentException("words must have 1 to " + MAX_LENGTH + " letters: \"" + words[0] + "\"");
+        }
+        for (String word : words) {
+            if (word.length() != length) {
+                throw new IllegalArgumentException("word \"" + word + "\" is not " + length + " letters long");
+            }
+        }
+        this.words = words;
+        this.size = words.length;
+        this.wordLength = length;
+        if (length == PackedWord.LENGTH) {
+            this.bytes = new byte[(int) cells];
+            this.wide = null;
+            this.packed = PackedWord.packAll(words);
+            this.masks = PackedWord.masks(packed);
+        } else {
+            this.bytes = null;
+            this.wide = new char[(int) cells];
+            this.keys = PackedKey.packAll(words);
+            this.masks = PackedKey.masks(keys, length);
+        }
+        this.shared = null;
+    }
+
+    private PatternMatrix(String[] words, int wordLength, ByteBuffer shared) {
+        this.words = words;
+        this.size = words.length;
+        this.wordLength = wordLength;
+        this.bytes = null;
+        this.wide = null;
+        this.shared = shared;
+    }
+
+    // Returns a matrix over words whose cells are read from patterns, laid
+    // out as build() lays out its array (one byte per cell for 5-letter
+    // words, a big-endian char otherwise). Nothing is copied.
+    static PatternMatrix mapped(String[] words, int wordLength, ByteBuffer patterns) {
+        if (patterns.capacity() != (long) words.length * words.length * cellBytes(wordLength)) {
+            throw new IllegalArgumentException("pattern buffer does not fit " + words.length + " words");
+        }
+        return new PatternMatrix(words, wordLength, patterns);
+    }
+
+    // Returns the number of bytes one cell takes for words of the given length.
+    static int cellBytes(int wordLength) {
+        return (wordLength == PackedWord.LENGTH) ? 1 : 2;
+    }
+
+    // Builds the matrix for dict, whose words must all have the same length.
+    // Rows are computed with the packed kernels, which give the same feedback
+    // as Wordle.computeFeedback.
+    public static PatternMatrix build(String[] dict) {
+        PatternMatrix matrix = new PatternMatrix(dict);
+        matrix.fillRows(0, dict.length);
+        return matrix.built();
+    }
+
+    // Builds the same matrix as build(dict), splitting the guess rows across
+    // a ForkJoinPool of the given number of threads. Every row is written by
+    // exactly one task, so the result is identical to the single-threaded one.
+    public static PatternMatrix buildParallel(String[] dict, int threads) {
+        if (threads < 1) throw new IllegalArgumentException("threads must be positive: " + threads);
+        if (threads == 1) return build(dict);
+        PatternMatrix matrix = new PatternMatrix(dict);
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            pool.invoke(new RowTask(matrix, 0, dict.length));
+        } finally {
+            pool.shutdown();
+        }
+        return matrix.built();
+    }
+
+    // Same as buildParallel(dict, threads) with one thread per available processor.
+    public static PatternMatrix buildParallel(String[] dict) {
+        return buildParallel(dict, Runtime.getRuntime().availableProcessors());
+    }
+
+    // Fills the rows [from, to), halving the range until it is small enough.
+    private static final class RowTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        // Below this many rows a task computes its rows directly.
+        private static final int THRESHOLD = 16;
+
+        // a task is never serialized, so the matrix it fills need not be
+        private final transient PatternMatrix matrix;
+        private final int from;
+        private final int to;
+
+        RowTask(PatternMatrix matrix, int from, int to) {
+            this.matrix = matrix;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= THRESHOLD) {
+                matrix.fillRows(from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new RowTask(matrix, from, mid), new RowTask(matrix, mid, to));
+        }
+    }
+
+    // Computes the rows of guesses [from, to).
+    private void fillRows(int from, int to) {
+        if (bytes != null) {
+            for (int g = from; g < to; g++) {
+                int base = g * size;
+                int guess = packed[g];
+                for (int s = 0; s < size; s++) {
+                    bytes[base + s] = (byte) PackedWord.feedback(packed[s], masks[s], guess);
+                }
+            }
+        } else {
+            for (int g = from; g < to; g++) {
+                int base = g * size;
+                long guess = keys[g];
+                for (int s = 0; s < size; s++) {
+                    wide[base + s] = (char) PackedKey.feedback(keys[s], masks[s], guess, wordLength);
+                }
+            }
+        }
+    }
+
+    // Drops the build-time arrays once every row is filled.
+    private PatternMatrix built() {
+        packed = null;
+        keys = null;
+        masks = null;
+        return this;
+    }
+
+    // Number of words in the dictionary.
+    public int size() {
+        return size;
+    }
+
+    // Length of every word in the dictionary.
+    public int wordLength() {
+        return wordLength;
+    }
+
+    // Number of distinct patterns (3^wordLength).
+    public int patternCount() {
+        return PackedKey.patterns(wordLength);
+    }
+
+    // The pattern of a row that is all 'G'.
+    public int allGreen() {
+        return patternCount() - 1;
+    }
+
+    // The word at the given dictionary index.
+    public String word(int index) {
+        return words[index];
+    }
+
+    // Returns the dictionary index of word, or -1 if it is not in the dictionary.
+    public int indexOf(String word) {
+        for (int i = 0; i < size; i++) {
+            if (words[i].equals(word)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // Returns the encoded feedback for guessing words[guess] when the secret is words[secret].
+    public int pattern(int guess, int secret) {
+        if (bytes != null) return bytes[guess * size + secret] & 0xFF;
+        if (wide != null) return wide[guess * size + secret];
+        if (wordLength == PackedWord.LENGTH) return shared.get(guess * size + secret) & 0xFF;
+        return shared.getChar(2 * (guess * size + secret));
+    }
+
+    // Writes the feedback for (guess, secret) into resultRow, in the same form as computeFeedback.
+    public void feedback(int guess, int secret, char[] resultRow) {
+        Wordle.decodeFeedback(pattern(guess, secret), resultRow);
+    }
+}
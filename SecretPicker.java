@@ -0,0 +1,96 @@
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Secret-word selection for many concurrent games. Unlike
+ * Wordle.chooseSecretWord, which shares the single Math.random() generator,
+ * the generator is supplied by the caller (ThreadLocalRandom by default),
+ * can be seeded for replay, or is not needed at all (daily and numbered games).
+ * Usage: String secret = new SecretPicker(dict).choose();
+ */
+public final class SecretPicker {
+
+    // Odd constant used to spread consecutive game numbers (2^64 / golden ratio).
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final String[] dict;
+
+    // Salt for daily and numbered games, so different dictionaries do not share a sequence.
+    private final long salt;
+
+    public SecretPicker(String[] dict) {
+        if (dict.length == 0) throw new IllegalArgumentException("dictionary is empty");
+        this.dict = dict;
+        long h = dict.length;
+        for (String word : dict) {
+            h = h * 31 + word.hashCode();
+        }
+        this.salt = mix(h);
+    }
+
+    // Chooses a secret with the calling thread's ThreadLocalRandom.
+    public String choose() {
+        return choose(ThreadLocalRandom.current());
+    }
+
+    // Chooses a secret with the given generator.
+    public String choose(RandomGenerator random) {
+        return dict[random.nextInt(dict.length)];
+    }
+
+    // Returns a generator whose choices are the same on every run for the same seed.
+    public static RandomGenerator seeded(long seed) {
+        return new SplittableRandom(seed);
+    }
+
+    // Returns the secret of game number game in the sequence named by seed,
+    // without any generator state, so any game can be replayed on its own.
+    public String forGame(long seed, long game) {
+        return dict[index(mix(salt ^ seed) + game * GOLDEN_GAMMA)];
+    }
+
+    // Returns the secret of the day: the same for everyone on the same date.
+    public String daily(LocalDate date) {
+        return forGame(0, date.toEpochDay());
+    }
+
+    // Returns today's secret.
+    public String daily() {
+        return daily(LocalDate.now());
+    }
+
+    // Returns count distinct secrets (count must not exceed the dictionary size),
+    // drawn with a partial Fisher-Yates shuffle of the dictionary indices.
+    public String[] sample(int count, RandomGenerator random) {
+        if (count < 0 || count > dict.length) {
+            throw new IllegalArgumentException("cannot draw " + count + " distinct secrets from " + dict.length + " words");
+        }
+        int[] order = new int[dict.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        String[] secrets = new String[count];
+        for (int i = 0; i < count; i++) {
+            int j = i + random.nextInt(order.length - i);
+            int t = order[i];
+            order[i] = order[j];
+            order[j] = t;
+            secrets[i] = dict[order[i]];
+        }
+        return secrets;
+    }
+
+    // Maps a 64-bit hash to a dictionary index.
+    private int index(long x) {
+        return (int) Math.floorMod(mix(x), (long) dict.length);
+    }
+
+    // The SplitMix64 finalizer: a cheap bijective mix of all 64 bits.
+    static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
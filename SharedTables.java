@@ -0,0 +1,259 @@
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * A dictionary and, optionally, its full guess x secret pattern matrix,
+ * published in one file that every worker JVM on a host maps read-only, so
+ * the page cache holds a single copy instead of one heap copy per worker.
+ * Layout (big-endian): int magic, int version, long dictionary hash (as
+ * OpeningBook.hash), int count, int wordLength, int cellBytes (0 when there
+ * is no matrix), int reserved, long CRC32 of everything after the header;
+ * then count ASCII records of wordLength bytes, padded to 8 bytes, then the
+ * matrix cells as PatternMatrix lays them out. A file whose version or
+ * checksum is wrong, or that was built from another dictionary, is refused.
+ * Usage: java SharedTables build [--matrix] dictionary.txt [tables.shared] | java SharedTables check tables.shared [dictionary.txt]
+ */
+public final class SharedTables {
+
+    // "WSHT" in ASCII.
+    public static final int MAGIC = 0x57534854;
+    public static final int VERSION = 1;
+
+    // Size of the header in bytes.
+    public static final int HEADER_BYTES = 40;
+
+    private static final int CHECKSUM_OFFSET = 32;
+
+    private final MappedByteBuffer buffer;
+    private final long hash;
+    private final int count;
+    private final int wordLength;
+    private final int cellBytes;
+
+    private SharedTables(MappedByteBuffer buffer, long hash, int count, int wordLength, int cellBytes) {
+        this.buffer = buffer;
+        this.hash = hash;
+        this.count = count;
+        this.wordLength = wordLength;
+        this.cellBytes = cellBytes;
+    }
+
+    // Offset of the matrix: the word records rounded up to a multiple of 8.
+    private static long matrixOffset(int count, int wordLength) {
+        return (HEADER_BYTES + (long) count * wordLength + 7) & ~7L;
+    }
+
+    // Writes the tables for words, which must be upper-case ASCII letters of
+    // one length, and with the pattern matrix if withMatrix is set. The file
+    // is written beside the target and then renamed over it, so a worker
+    // never maps a half-written file and those that mapped the old one keep
+    // reading it until they reopen.
+    public static void write(String[] words, boolean withMatrix, File file) {
+        int wordLength = (words.length == 0) ? Wordle.WORD_LENGTH : words[0].length();
+        if (wordLength < 1 || wordLength > PatternMatrix.MAX_LENGTH) {
+            throw new IllegalArgumentException("words must have 1 to " + PatternMatrix.MAX_LENGTH + " letters");
+        }
+        for (String word : words) {
+            if (word.length() != wordLength) {
+                throw new IllegalArgumentException("word \"" + word + "\" is not " + wordLength + " letters long");
+            }
+            for (int i = 0; i < wordLength; i++) {
+                char c = word.charAt(i);
+                if (c < 'A' || c > 'Z') throw new IllegalArgumentException("word \"" + word + "\" is not upper-case letters");
+            }
+        }
+        int cellBytes = withMatrix ? PatternMatrix.cellBytes(wordLength) : 0;
+        long matrixOffset = matrixOffset(words.length, wordLength);
+        long fileSize = matrixOffset + (long) words.length * words.length * cellBytes;
+        if (fileSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("tables for " + words.length + " words are too large to map: " + fileSize + " bytes");
+        }
+        PatternMatrix matrix = withMatrix ? PatternMatrix.buildParallel(words) : null;
+
+        // a temporary file of its own, so that concurrent builders never share an inode
+        Path target = file.toPath().toAbsolutePath();
+        Path temp;
+        try {
+            temp = BinaryDictionary.tempSibling(target);
+        }
+        catch (IOException ioe) {
+            throw new IllegalArgumentException("Could not write " + target, ioe);
+        }
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer out = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize);
+                out.putInt(0, MAGIC);
+                out.putInt(4, VERSION);
+                out.putLong(8, OpeningBook.hash(words));
+                out.putInt(16, words.length);
+                out.putInt(20, wordLength);
+                out.putInt(24, cellBytes);
+                int at = HEADER_BYTES;
+                for (String word : words) {
+                    for (int i = 0; i < wordLength; i++) {
+                        out.put(at++, (byte) word.charAt(i));
+                    }
+                }
+                if (matrix != null) {
+                    int n = words.length;
+                    int base = (int) matrixOffset;
+                    for (int g = 0; g < n; g++) {
+                        for (int s = 0; s < n; s++) {
+                            int cell = g * n + s;
+                            if (cellBytes == 1) out.put(base + cell, (byte) matrix.pattern(g, s));
+                            else out.putChar(base + 2 * cell, (char) matrix.pattern(g, s));
+                        }
+                    }
+                }
+                out.putLong(CHECKSUM_OFFSET, checksum(out, fileSize));
+                out.force();
+            }
+            catch (IOException ioe) {
+                throw new IllegalArgumentException("Could not write " + temp, ioe);
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+            catch (IOException ioe) {
+                throw new IllegalArgumentException("Could not publish " + target, ioe);
+            }
+        }
+        finally {
+            // gone after a successful move; removed here on any failure
+            BinaryDictionary.deleteQuietly(temp);
+        }
+    }
+
+    // CRC32 of the bytes after the header.
+    private static long checksum(ByteBuffer buffer, long fileSize) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(HEADER_BYTES, (int) fileSize - HEADER_BYTES));
+        return crc.getValue();
+    }
+
+    // Maps file read-only and checks its header, size and checksum.
+    public static SharedTables open(File file) {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_BYTES || fileSize > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException(file + " is not a shared tables file");
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+            if (buffer.getInt(0) != MAGIC) {
+                throw new IllegalArgumentException(file + " is not a shared tables file");
+            }
+            if (buffer.getInt(4) != VERSION) {
+                throw new IllegalArgumentException(file + " has version " + buffer.getInt(4) + ", expected " + VERSION);
+            }
+            long hash = buffer.getLong(8);
+            int count = buffer.getInt(16);
+            int wordLength = buffer.getInt(20);
+            int cellBytes = buffer.getInt(24);
+            if (count < 0 || wordLength < 1 || wordLength > PatternMatrix.MAX_LENGTH
+                    || (cellBytes != 0 && cellBytes != PatternMatrix.cellBytes(wordLength))
+                    || matrixOffset(count, wordLength) + (long) count * count * cellBytes != fileSize) {
+                throw new IllegalArgumentException(file + " has a corrupt header");
+            }
+            if (buffer.getLong(CHECKSUM_OFFSET) != checksum(buffer, fileSize)) {
+                throw new IllegalArgumentException(file + " fails its checksum");
+            }
+            return new SharedTables(buffer, hash, count, wordLength, cellBytes);
+        }
+        catch (IOException ioe) {
+            throw new IllegalArgumentException("Could not open " + file, ioe);
+        }
+    }
+
+    // Same as open(file), but also refuses a table that was not built from
+    // the current words of dictionaryFile that have the table's length.
+    public static SharedTables open(File file, String dictionaryFile) {
+        SharedTables tables = open(file);
+        String[] source = Wordle.wordsOfLength(Wordle.readDictionary(dictionaryFile), tables.wordLength);
+        if (!tables.matches(source)) {
+            throw new IllegalArgumentException(file + " is stale: " + dictionaryFile + " has changed since it was built");
+        }
+        return tables;
+    }
+
+    // Returns true if these tables were built from dict.
+    public boolean matches(String[] dict) {
+        return count == dict.length && hash == OpeningBook.hash(dict);
+    }
+
+    // Number of words.
+    public int size() {
+        return count;
+    }
+
+    // Length of every word.
+    public int wordLength() {
+        return wordLength;
+    }
+
+    // Returns true if the file holds the pattern matrix.
+    public boolean hasMatrix() {
+        return cellBytes != 0;
+    }
+
+    // Returns word index as a new String.
+    public String word(int index) {
+        byte[] bytes = new byte[wordLength];
+        buffer.get(HEADER_BYTES + index * wordLength, bytes);
+        return new String(bytes, StandardCharsets.US_ASCII);
+    }
+
+    // Returns all words as a String array, in file order.
+    public String[] toArray() {
+        String[] words = new String[count];
+        for (int i = 0; i < count; i++) {
+            words[i] = word(i);
+        }
+        return words;
+    }
+
+    // Returns a PatternMatrix over words (normally toArray()) that reads its
+    // cells from the mapping, or null if the file has no matrix.
+    public PatternMatrix matrix(String[] words) {
+        if (!hasMatrix()) return null;
+        int offset = (int) matrixOffset(count, wordLength);
+        return PatternMatrix.mapped(words, wordLength, buffer.slice(offset, count * count * cellBytes));
+    }
+
+    public static void main(String[] args) {
+        boolean withMatrix = false;
+        String[] files = new String[2];
+        int k = 0;
+        for (int i = 1; i < args.length; i++) {
+            if (args[i].equals("--matrix")) withMatrix = true;
+            else if (k < files.length) files[k++] = args[i];
+        }
+        if (args.length == 0 || k == 0 || !(args[0].equals("build") || args[0].equals("check"))) {
+            System.out.println("Usage: java SharedTables build [--matrix] dictionary.txt [tables.shared] | java SharedTables check tables.shared [dictionary.txt]");
+            return;
+        }
+        long start = System.nanoTime();
+        SharedTables tables;
+        if (args[0].equals("build")) {
+            String textFile = files[0];
+            String tableFile = (files[1] != null) ? files[1] : textFile.replaceAll("\\.txt$", "") + ".shared";
+            String[] dict = Wordle.readDictionary(textFile);
+            write(Wordle.wordsOfLength(dict, dict.length == 0 ? Wordle.WORD_LENGTH : dict[0].length()), withMatrix, new File(tableFile));
+            tables = open(new File(tableFile), textFile);
+            System.out.print("Wrote " + tableFile + ": ");
+        } else {
+            tables = (files[1] != null) ? open(new File(files[0]), files[1]) : open(new File(files[0]));
+            System.out.print(files[0] + " is valid: ");
+        }
+        System.out.printf("%d words of length %d, %s (%.2f s)%n", tables.size(), tables.wordLength(),
+                          tables.hasMatrix() ? "with pattern matrix" : "no pattern matrix", (System.nanoTime() - start) / 1e9);
+    }
+}
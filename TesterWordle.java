@@ -3,6 +3,12 @@ import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
 
 /**
  * Tester class for Wordle.java
@@ -22,6 +28,27 @@ public class TesterWordle {
                 case "storeGuess": testStoreGuess(); break;
                 case "printBoard": testPrintBoard(); break;
                 case "isAllGreen": testIsAllGreen(); break;
+                case "patternMatrix": testPatternMatrix(); break;
+                case "patternMatrixParallel": testPatternMatrixParallel(); break;
+                case "binaryDictionary": testBinaryDictionary(); break;
+                case "forEachLine": testForEachLine(); break;
+                case "packedWord": testPackedWord(); break;
+                case "packedKey": testPackedKey(); break;
+                case "dictionaryLoader": testDictionaryLoader(); break;
+                case "multiBoard": testMultiBoard(); break;
+                case "hardMode": testHardMode(); break;
+                case "metrics": testMetrics(); break;
+                case "channelReader": testChannelReader(); break;
+                case "gameFlowParallel": testGameFlowParallel(); break;
+                case "gameArchive": testGameArchive(); break;
+                case "decisionTree": testDecisionTree(); break;
+                case "absurdle": testAbsurdle(); break;
+                case "sharedTables": testSharedTables(); break;
+                case "solver": testSolver(); break;
+                case "candidateSet": testCandidateSet(); break;
+                case "secretPicker": testSecretPicker(); break;
+                case "wordIndex": testWordIndex(); break;
+                case "openingBook": testOpeningBook(); break;
                 
                 // Robust Game Flow tests
                 case "testGameWinRobust": testGameWinRobust(); break;
@@ -40,6 +67,27 @@ public class TesterWordle {
         testStoreGuess();
         testPrintBoard();
         testIsAllGreen();
+        testPatternMatrix();
+        testPatternMatrixParallel();
+        testBinaryDictionary();
+        testForEachLine();
+        testPackedWord();
+        testPackedKey();
+        testDictionaryLoader();
+        testMultiBoard();
+        testHardMode();
+        testMetrics();
+        testChannelReader();
+        testGameFlowParallel();
+        testGameArchive();
+        testDecisionTree();
+        testAbsurdle();
+        testSharedTables();
+        testSolver();
+        testCandidateSet();
+        testSecretPicker();
+        testWordIndex();
+        testOpeningBook();
     }
 
     // --- Unit Tests ---
@@ -204,6 +252,842 @@ public class TesterWordle {
         if (!failed) System.out.println("Passed 2/2 tests (Passed)");
     }
 
+    public static void testPatternMatrix() {
+        System.out.println("Testing PatternMatrix:");
+        try {
+            String[] dict = Wordle.readDictionary("dictionary.txt");
+            PatternMatrix matrix = PatternMatrix.build(dict);
+            char[] expected = new char[5];
+            char[] actual = new char[5];
+            int mismatches = 0;
+            for (int g = 0; g < dict.length; g++) {
+                for (int s = 0; s < dict.length; s++) {
+                    Wordle.computeFeedback(dict[s], dict[g], expected);
+                    matrix.feedback(g, s, actual);
+                    if (!new String(expected).equals(new String(actual))) {
+                        if (mismatches == 0) {
+                            System.out.println("Failed: Secret='" + dict[s] + "', Guess='" + dict[g] + "'.");
+                            System.out.println("Expected: " + new String(expected));
+                            System.out.println("Actual:   " + new String(actual));
+                        }
+                        mismatches++;
+                    }
+                }
+                if (!Wordle.isAllGreen(decoded(matrix, g, g))) {
+                    System.out.println("Failed: '" + dict[g] + "' against itself is not all green.");
+                    mismatches++;
+                }
+            }
+            if (mismatches == 0) System.out.println("Passed: Pattern matrix matches computeFeedback (Passed)");
+            else System.out.println("Failed: " + mismatches + " mismatching entries.");
+        } catch (Exception e) { System.out.println("Failed: Exception: " + e.getMessage()); }
+    }
+
+    public static void testPatternMatrixParallel() {
+        System.out.println("Testing PatternMatrix.buildParallel:");
+        try {
+            String[] dict = Wordle.readDictionary("dictionary.txt");
+            PatternMatrix serial = PatternMatrix.build(dict);
+            PatternMatrix parallel = PatternMatrix.buildParallel(dict, 4);
+            int mismatches = 0;
+            for (int g = 0; g < dict.length; g++) {
+                for (int s = 0; s < dict.length; s++) {
+                    if (serial.pattern(g, s) != parallel.pattern(g, s)) mismatches++;
+                }
+            }
+            if (mismatches == 0) System.out.println("Passed: Parallel matrix matches single-threaded build (Passed)");
+            else System.out.println("Failed: " + mismatches + " entries differ from the single-threaded build.");
+        } catch (Exception e) { System.out.println("Failed: Exception: " + e.getMessage()); }
+    }
+
+    public static void testBinaryDictionary() {
+        System.out.println("Testing BinaryDictionary:");
+        File bin = null;
+        try {
+            String[] dict = Wordle.readDictionary("dictionary.txt");
+            bin = File.createTempFile("dictionary", ".bin");
+            BinaryDictionary.convert("dictionary.txt", bin.getPath());
+            BinaryDictionary loaded = BinaryDictionary.load(bin);
+            boolean passed = loaded.size() == dict.length && loaded.wordLength() == 5;
+            for (int i = 0; passed && i < dict.length; i++) {
+                if (!loaded.matches(i, dict[i]) || !loaded.word(i).equals(dict[i])) {
+                    System.out.println("Failed: Word " + i + " is '" + loaded.word(i) + "', expected '" + dict[i] + "'.");
+                    passed = false;
+                }
+            }
+
+            // an empty dictionary reads back as empty
+            BinaryDictionary.write(new String[0], bin);
+            passed = passed && BinaryDictionary.load(bin).size() == 0;
+
+            // a bad word leaves the existing file alone and no temporary file behind
+            String[] before = bin.getParentFile().list();
+            try {
+                BinaryDictionary.write(new String[] {"APPLE", "CAF\u00c9S"}, bin);
+                passed = false;
+            } catch (IllegalArgumentException expected) {
+                passed = passed && BinaryDictionary.load(bin).size() == 0
+                         && bin.getParentFile().list().length == before.length;
+            }
+
+            // a corrupt companion falls back to the text file
+            File text = File.createTempFile("tester_dict", ".txt");
+            File companion = new File(text.getPath().replaceAll("\\.txt$", ".bin"));
+            try {
+                java.nio.file.Files.writeString(text.toPath(), "apple\nplane\n");
+                java.nio.file.Files.writeString(companion.toPath(), "not a dictionary");
+                companion.setLastModified(text.lastModified() + 10000);
+                passed = passed && Arrays.equals(Wordle.readDictionary(text.getPath()), new String[] {"APPLE", "PLANE"});
+
+                // the companion is keyed by the text's contents, not by modification times
+                BinaryDictionary.convert(text.getPath(), companion.getPath());
+                text.setLastModified(companion.lastModified() + 10000);
+                passed = passed && companion.equals(BinaryDictionary.companionOf(text.getPath()));
+                java.nio.file.Files.writeString(text.toPath(), "apple\nalone\n");
+                companion.setLastModified(text.lastModified() + 10000);
+                passed = passed && BinaryDictionary.companionOf(text.getPath()) == null
+                         && Arrays.equals(Wordle.readDictionary(text.getPath()), new String[] {"APPLE", "ALONE"});
+            } finally {
+                text.delete();
+                companion.delete();
+            }
+
+            if (passed) System.out.println("Passed: Binary dictionary matches text dictionary (Passed)");
+            else System.out.println("Failed: Binary dictionary does not match (size=" + loaded.size() + ")");
+        } catch (Exception e) { System.out.println("Failed: Exception: " + e.getMessage()); }
+        finally {
+            if (bin != null) bin.delete();
+        }
+    }
+
+    public static void testForEachLine() {
+        System.out.println("Testing In.forEachLine:");
+        File file = null;
+        try {
+            String text = "APPLE\r\nCAF\u00c9\rna\u00efve \uD83D\uDE00\n\nLAST";
+            file = File.createTempFile("lines", ".txt");
+            try (FileWriter writer = new FileWriter(file, StandardCharsets.UTF_8)) { writer.write(text); }
+
+            String[] expected = new In(file).readAllLines();
+            List<String> actual = new ArrayList<>();
+            long count = new In(file).forEachLine(line -> actual.add(line.toString()));
+
+            if (count == expected.length && actual.equals(Arrays.asList(expected))) {
+                System.out.println("Passed: forEachLine matches readAllLines (Passed)");
+            } else {
+                System.out.println("Failed: forEachLine read " + actual + ", expected " + Arrays.toString(expected));
+            }
+        } catch (Exception e) { System.out.println("Failed: Exception: " + e.getMessage()); }
+        finally {
+            if (file != null) file.delete();
+        }
+    }
+
+    public static void testPackedWord() {
+        System.out.println("Testing PackedWord:");
+        String[][] cases = {
+            {"ABCDE", "ABCDE"}, {"ABCDE", "VWXYZ"}, {"APPLE", "PAPAL"}, {"APPLE", "HELPS"}, {"ZZZZZ", "AZZZA"}
+        };
+        boolean failed = false;
+        char[] expected = new char[5];
+        char[] actual = new char[5];
+        for (String[] c : cases) {
+            Wordle.computeFeedback(c[0], c[1], expected);
+            Wordle.decodeFeedback(PackedWord.feedback(PackedWord.pack(c[0]), PackedWord.pack(c[1])), actual);
+            if (!new String(expected).equals(new String(actual))) {
+                System.out.println("Failed: Secret='" + c[0] + "', Guess='" + c[1] + "'.");
+                System.out.println("Expected: " + new String(expected));
+                System.out.println("Actual:   " + new String(actual));
+                failed = true;
+            }
+        }
+        if (!PackedWord.toString(PackedWord.pack("hello")).equals("HELLO")) {
+            System.out.println("Failed: pack/unpack of 'hello' did not give 'HELLO'.");
+            failed = true;
+        }
+        if (!failed) System.out.println("Passed " + (cases.length + 1) + "/" + (cases.length + 1) + " tests (Passed)");
+    }
+
+    public static void testPackedKey() {
+        System.out.println("Testing PackedKey:");
+        String[][] cases = {
+            {"BANANA", "CABANA"}, {"WORD", "DROW"}, {"APPLE", "PAPAL"}, {"STRENGTH", "LENGTHEN"},
+            {"ABCDEFGHIJKL", "LKJIHGFEDCBA"}, {"A", "B"}
+        };
+        boolean failed = false;
+        for (String[] c : cases) {
+            int length = c[0].length();
+            char[] expected = new char[length];
+            char[] actual = new char[length];
+            Wordle.computeFeedback(c[0], c[1], expected);
+            Wordle.decodeFeedback(PackedKey.feedback(PackedKey.pack(c[0]), PackedKey.pack(c[1]), length), actual);
+            if (!new String(expected).equals(new String(actual))) {
+                System.out.println("Failed: Secret='" + c[0] + "', Guess='" + c[1] + "'.");
+                System.out.println("Expected: " + new String(expected));
+                System.out.println("Actual:   " + new String(actual));
+                failed = true;
+            }
+        }
+        String[] dict = {"BANANA", "CABANA", "BANDIT", "ANANAS"};
+        PatternMatrix matrix = PatternMatrix.build(dict);
+        char[] expected = new char[6];
+        char[] actual = new char[6];
+        for (int g = 0; g < dict.length; g++) {
+            for (int s = 0; s < dict.length; s++) {
+                Wordle.computeFeedback(dict[s], dict[g], expected);
+                matrix.feedback(g, s, actual);
+                if (!new String(expected).equals(new String(actual))) {
+                    System.out.println("Failed: 6-letter matrix gives " + new String(actual) + " for guess " + dict[g] + ", secret " + dict[s] + ".");
+                    failed = true;
+                }
+            }
+        }
+        if (matrix.patternCount() != 729 || matrix.allGreen() != matrix.pattern(0, 0)) {
+            System.out.println("Failed: 6-letter matrix should have 729 patterns and an all-green diagonal.");
+            failed = true;
+        }
+        if (!failed) System.out.println("Passed " + (cases.length + 2) + "/" + (cases.length + 2) + " tests (Passed)");
+    }
+
+    public static void testDictionaryLoader() {
+        System.out.println("Testing DictionaryLoader:");
+        File file = null;
+        try {
+            file = File.createTempFile("feed", ".txt");
+            try (FileWriter writer = new FileWriter(file)) {
+                writer.write("apple\nAPPLE\n  Crane \n\nHELP\nhel!o\nCRANE\r\nABOUTS\nAb0ut\nabout\n");
+            }
+            DictionaryLoader loader = DictionaryLoader.load(file.getPath(), 5);
+            String[] expected = {"APPLE", "CRANE", "ABOUT"};
+            boolean passed = loader.size() == expected.length;
+            for (int i = 0; passed && i < expected.length; i++) {
+                passed = loader.word(i).equals(expected[i]) && loader.packedWords()[i] == PackedWord.pack(expected[i]);
+            }
+            passed = passed && loader.lines() == 10 && loader.blankLines() == 1 && loader.wrongLength() == 2
+                     && loader.nonAlphabetic() == 2 && loader.duplicates() == 2
+                     && loader.contains("crane") && !loader.contains("HELPS");
+
+            String[] dict = Wordle.readDictionary("dictionary.txt");
+            DictionaryLoader full = DictionaryLoader.load("dictionary.txt", 5);
+            passed = passed && full.size() == new HashSet<>(Arrays.asList(dict)).size();
+            for (String word : dict) {
+                if (!full.contains(word)) passed = false;
+            }
+
+            if (passed) System.out.println("Passed: Feed normalized, validated and deduplicated (Passed)");
+            else System.out.println("Failed: Loader kept " + loader.size() + " words; counts: blank " + loader.blankLines()
+                                    + ", wrong length " + loader.wrongLength() + ", non-alphabetic " + loader.nonAlphabetic()
+                                    + ", duplicates " + loader.duplicates() + ".");
+        } catch (Exception e) { System.out.println("Failed: Exception: " + e.getMessage()); }
+        finally {
+            if (file != null) file.delete();
+        }
+    }
+
+    public static void testMultiBoard() {
+        System.out.println("Testing MultiBoardGame:");
+        String[] secrets = {"APPLE", "CRANE", "ABOUT", "PLANE"};
+        String[] plays = {"HELPS", "CRANE", "PLANE", "ABOUT", "APPLE"};
+        MultiBoardGame game = new MultiBoardGame(secrets);
+        boolean passed = game.maxAttempts() == 9;
+        char[] expected = new char[5];
+        char[] actual = new char[5];
+        for (String guess : plays) {
+            int before = game.activeCount();
+            int solved = game.guess(guess);
+            int a = game.attempts() - 1;
+            for (int b = 0; b < secrets.length; b++) {
+                if (game.solvedAt(b) > 0 && game.solvedAt(b) <= a) {
+                    if (game.pattern(a, b) != -1) passed = false;
+                    continue;
+                }
+                Wordle.computeFeedback(secrets[b], guess, expected);
+                Wordle.decodeFeedback(game.pattern(a, b), actual);
+                if (!Arrays.equals(expected, actual)) passed = false;
+            }
+            if (game.activeCount() != before - solved) passed = false;
+        }
+        passed = passed && game.isWon() && game.isOver() && game.attempts() == 5
+                 && game.solvedAt(0) == 5 && game.solvedAt(1) == 2 && game.solvedAt(2) == 4 && game.solvedAt(3) == 3;
+
+        game.reset(secrets);
+        for (int i = 0; i < game.maxAttempts(); i++) game.guess("HELPS");
+        passed = passed && game.isOver() && !game.isWon() && game.activeCount() == 4;
+
+        if (passed) System.out.println("Passed: Every board scored and solved boards dropped (Passed)");
+        else System.out.println("Failed: Multi-board feedback or solved boards were wrong.");
+    }
+
+    public static void testHardMode() {
+        System.out.println("Testing HardModeConstraints:");
+        String[] dict = Wordle.readDictionary("dictionary.txt");
+        String[][] games = {{"APPLE", "PLANE", "ALONE"}, {"ALONE", "ABOUT", "HELPS"}, {"ABOUT", "APPLY", "CRANE"}};
+        boolean passed = true;
+        char[][] results = new char[3][5];
+        for (String[] game : games) {
+            String secret = game[0];
+            HardModeConstraints hard = new HardModeConstraints(5);
+            CandidateSet rows = new CandidateSet(dict);
+            CandidateSet masks = new CandidateSet(dict);
+            for (int r = 1; r < game.length; r++) {
+                Wordle.computeFeedback(secret, game[r], results[r]);
+                hard.add(game[r], results[r]);
+                rows.narrow(game[r], results[r]);
+            }
+            masks.narrow(hard);
+            if (!Arrays.equals(rows.toArray(), masks.toArray()) || !masks.contains(Arrays.asList(dict).indexOf(secret))) passed = false;
+            for (String word : dict) {
+                // a word may be played if it keeps every green and contains every yellow letter
+                boolean expected = true;
+                for (int r = 1; r < game.length; r++) {
+                    for (int i = 0; i < 5; i++) {
+                        if (results[r][i] == 'G' && word.charAt(i) != game[r].charAt(i)) expected = false;
+                        if (results[r][i] == 'Y' && word.indexOf(game[r].charAt(i)) < 0) expected = false;
+                    }
+                }
+                if (hard.allows(word) != expected || hard.allows(PackedWord.pack(word)) != expected) passed = false;
+            }
+        }
+
+        HardModeConstraints hard = new HardModeConstraints(5);
+        hard.add("PLANE", "YYY_G".toCharArray());
+        passed = passed && "letter 5 must be E".equals(hard.violation("CRANK"))
+                 && "guess must contain L".equals(hard.violation("CRANE")) && hard.violation("APPLE") == null;
+
+        ByteArrayOutputStream captured = new ByteArrayOutputStream();
+        PrintStream out = new PrintStream(captured);
+        In inp = new In(new java.util.Scanner("PLANE\nCRANK\nAPPLE\n"));
+        boolean won = Wordle.playGame("APPLE", inp, new ConsoleRenderer(out), null, Wordle.MAX_ATTEMPTS, true);
+        out.flush();
+        passed = passed && won && captured.toString().contains("Hard mode: letter 5 must be E. Please try again.");
+
+        WordleSolver solver = new WordleSolver(dict);
+        solver.setHardMode(true);
+        for (String secret : dict) {
+            if (solver.solve(secret) > 8) passed = false;
+        }
+
+        if (passed) System.out.println("Passed: Compiled masks match the feedback rows (Passed)");
+        else System.out.println("Failed: Hard-mode masks disagree with the feedback rows.");
+    }
+
+    public static void testMetrics() {
+        System.out.println("Testing WordleMetrics:");
+        WordleMetrics metrics = new WordleMetrics();
+        int threads = 8;
+        int gamesPerThread = 500;
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            workers[t] = new Thread(() -> {
+                WordleGame game = new WordleGame("APPLE", 6, metrics);
+                for (int g = 0; g < gamesPerThread; g++) {
+                    if (g > 0) game.reset("APPLE");
+                    game.guess("PLANE");
+                    game.guess(g % 2 == 0 ? "APPLE" : "ABOUT");
+                    while (!game.isOver()) game.guess("ABOUT");
+                }
+            });
+            workers[t].start();
+        }
+        try {
+            for (Thread worker : workers) worker.join();
+        } catch (InterruptedException e) { Thread.currentThread().interrupt(); }
+
+        int games = threads * gamesPerThread;
+        WordleMetrics.Snapshot s = metrics.snapshot();
+        boolean passed = s.gamesStarted == games && s.gamesWon == games / 2 && s.gamesLost == games / 2
+                         && s.winsIn(2) == games / 2 && s.guesses == 4L * games && s.feedbackCalls == s.guesses
+                         && s.gamesInProgress() == 0 && s.guessLatencyPercentile(50) <= s.guessLatencyPercentile(100);
+
+        for (long v : new long[] {0, 7, 8, 9, 15, 16, 17, 1000, 123456789, Long.MAX_VALUE}) {
+            int b = WordleMetrics.LatencyHistogram.bucket(v);
+            long high = WordleMetrics.LatencyHistogram.highestValue(b);
+            if (high < v || (b > 0 && WordleMetrics.LatencyHistogram.highestValue(b - 1) >= v) || high - v > v / 8) passed = false;
+        }
+
+        WordleMetrics played = new WordleMetrics();
+        Wordle.setMetrics(played);
+        try {
+            PrintStream out = new PrintStream(new ByteArrayOutputStream());
+            Wordle.playGame("APPLE", new In(new java.util.Scanner("APP\nPLANE\nAPPLE\n")), out);
+        } finally {
+            Wordle.setMetrics(null);
+        }
+        WordleMetrics.Snapshot p = played.snapshot();
+        passed = passed && p.gamesWon == 1 && p.invalidGuesses == 1 && p.guesses == 2 && p.invalidGuessRate() > 0.33
+                 && p.toString().contains("wins by attempts: 2=1");
+
+        if (passed) System.out.println("Passed: Counters agree across threads and games (Passed)");
+        else System.out.println("Failed: Metrics snapshot does not match the games played:" + System.lineSeparator() + s + p);
+    }
+
+    public static void testChannelReader() {
+        System.out.println("Testing In.ChannelReader:");
+        String text = "  PLANE\tapple\r\nline two \u00e9t\u00e9\rthird\u2028 last";
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        boolean passed = true;
+        // read tokens and lines alternately, feeding one byte at a time, and
+        // compare with In over the whole input
+        for (int split = 1; split <= bytes.length; split++) {
+            In whole = new In(java.nio.channels.Channels.newChannel(new ByteArrayInputStream(bytes)));
+            In.ChannelReader reader = new In.ChannelReader();
+            int fed = 0;
+            for (int step = 0; step < 8; step++) {
+                boolean token = step % 3 != 2;
+                String expected = token ? (whole.isEmpty() ? null : whole.readString()) : whole.readLine();
+                String actual = token ? reader.pollString() : reader.pollLine();
+                while (actual == null && !reader.isEnded()) {
+                    int n = Math.min(split, bytes.length - fed);
+                    if (n == 0) reader.end();
+                    else reader.feed(java.nio.ByteBuffer.wrap(bytes, fed, n));
+                    fed += n;
+                    actual = token ? reader.pollString() : reader.pollLine();
+                }
+                if (expected == null ? actual != null : !expected.equals(actual)) {
+                    System.out.println("Failed: step " + step + " with " + split + "-byte pieces: expected '" + expected + "', got '" + actual + "'.");
+                    passed = false;
+                    break;
+                }
+            }
+            if (!passed) break;
+        }
+
+        // a session driven token by token prints what playGame prints
+        String input = "abc PLANE\nHELLO APPLE\n";
+        ByteArrayOutputStream pushed = new ByteArrayOutputStream();
+        GameSession session = new GameSession("APPLE", new ConsoleRenderer(new PrintStream(pushed)), null, 6, false);
+        session.start();
+        In.ChannelReader reader = new In.ChannelReader();
+        reader.feed(java.nio.ByteBuffer.wrap(input.getBytes(StandardCharsets.UTF_8)));
+        reader.end();
+        String token;
+        while (!session.isOver() && (token = reader.pollString()) != null) session.offer(token);
+        ByteArrayOutputStream pulled = new ByteArrayOutputStream();
+        Wordle.playGame("APPLE", new In(new java.util.Scanner(input)), new PrintStream(pulled));
+        passed = passed && session.isWon() && pushed.toString().equals(pulled.toString());
+
+        // pending() is what is left of an incomplete token once the complete ones are polled
+        In.ChannelReader unbounded = new In.ChannelReader();
+        unbounded.feed(java.nio.ByteBuffer.wrap("PLANE APPL".getBytes(StandardCharsets.UTF_8)));
+        passed = passed && unbounded.pending() == 10 && "PLANE".equals(unbounded.pollString())
+                 && unbounded.pollString() == null && unbounded.pending() == 4;
+
+        if (passed) System.out.println("Passed: Incremental tokens and lines match In (Passed)");
+        else System.out.println("Failed: Incremental parsing or session output differs from In.");
+    }
+
+    public static void testGameFlowParallel() {
+        System.out.println("Testing GameFlowRunner:");
+        List<GameFlowRunner.Case> cases = GameFlowRunner.robustCases();
+        cases.addAll(GameFlowRunner.scriptedCases(Wordle.readDictionary("dictionary.txt"), 2000, 7));
+        List<GameFlowRunner.Outcome> parallel = GameFlowRunner.run(cases, 8);
+        boolean passed = true;
+        for (int i = 0; i < cases.size(); i++) {
+            GameFlowRunner.Outcome outcome = parallel.get(i);
+            if (!outcome.passed()) {
+                System.out.println("Failed: " + outcome.testCase.name + ": " + outcome.failure);
+                passed = false;
+                break;
+            }
+            // games with a single-word dictionary are deterministic, so running
+            // them alongside others must not change their output
+            if (i < 50 && !outcome.output.equals(GameFlowRunner.play(cases.get(i)).output)) {
+                System.out.println("Failed: " + outcome.testCase.name + " printed differently when run concurrently.");
+                passed = false;
+                break;
+            }
+        }
+
+        // bad arguments print the usage line instead of throwing
+        for (String[] args : new String[][] {{"--hrad"}, {"abc"}, {"5", "0"}, {"-5"}, {"5", "6", "7"}}) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            boolean won = Wordle.run(args, new String[] {"APPLE"}, new In(new java.util.Scanner("APPLE\n")), new PrintStream(bytes, true));
+            if (won || !bytes.toString().contains("Usage: java Wordle") || bytes.toString().contains("Enter your guess")) {
+                System.out.println("Failed: Arguments " + Arrays.toString(args) + " were not rejected with the usage line.");
+                passed = false;
+            }
+        }
+        if (passed) System.out.println("Passed: " + cases.size() + " game flows ran concurrently (Passed)");
+    }
+
+    public static void testGameArchive() {
+        System.out.println("Testing GameArchiveAnalyzer:");
+        File archive = null;
+        try {
+            archive = File.createTempFile("archive", ".txt");
+            String[] dict = Wordle.readDictionary("dictionary.txt");
+            GameArchiveAnalyzer.writeSample(archive.toPath(), dict, 300, 5);
+            try (FileWriter writer = new FileWriter(archive, true)) {
+                writer.write("apple, plane ,APPLE\r\nAPPLE,HELLOS\nAPPLE\n\nABOUT ALONE APPLY ABOUT");
+            }
+
+            // replay every line with computeFeedback for the expected totals
+            In in = new In(archive);
+            String[] lines = in.readAllLines();
+            in.close();
+            long games = 0, wins = 0, malformed = 0, firstPlane = 0;
+            char[] row = new char[5];
+            for (String line : lines) {
+                String[] words = line.trim().toUpperCase().split("[ ,]+");
+                if (line.trim().isEmpty()) continue;
+                if (words.length < 2 || words[1].length() != 5) { malformed++; continue; }
+                games++;
+                if (words[1].equals("PLANE")) firstPlane++;
+                for (int k = 1; k < words.length; k++) {
+                    Wordle.computeFeedback(words[0], words[k], row);
+                    if (Wordle.isAllGreen(row)) { wins++; break; }
+                }
+            }
+
+            GameArchiveAnalyzer.Stats one = GameArchiveAnalyzer.analyze(archive.toPath(), 1);
+            GameArchiveAnalyzer.Stats split = GameArchiveAnalyzer.analyze(archive.toPath(), 4, 64);
+            boolean passed = true;
+            for (GameArchiveAnalyzer.Stats s : new GameArchiveAnalyzer.Stats[] {one, split}) {
+                if (s.games() != games || s.wins() != wins || s.malformedLines() != malformed
+                    || s.firstGuessCount("PLANE") != firstPlane || s.winsWith("APPLE") != one.winsWith("APPLE")
+                    || s.inconsistentGuesses() != one.inconsistentGuesses()) passed = false;
+            }
+            passed = passed && one.gamesWith("ABOUT") > 0 && one.winsIn(2) > 0;
+
+            // a line longer than MAX_LINE is skipped as malformed, with or without a newline
+            char[] huge = new char[3 * GameArchiveAnalyzer.MAX_LINE];
+            Arrays.fill(huge, 'A');
+            java.nio.file.Files.writeString(archive.toPath(), "APPLE APPLE\n" + new String(huge) + "\nAPPLE PLANE APPLE\n" + new String(huge));
+            for (int chunk : new int[] {64, GameArchiveAnalyzer.CHUNK}) {
+                GameArchiveAnalyzer.Stats s = GameArchiveAnalyzer.analyze(archive.toPath(), 3, chunk);
+                if (s.games() != 2 || s.wins() != 2 || s.malformedLines() != 2) passed = false;
+            }
+
+            if (passed) System.out.println("Passed: Archive replay matches computeFeedback (Passed)");
+            else System.out.println("Failed: Expected " + games + " games, " + wins + " wins, " + malformed + " malformed; got "
+                                    + one.games() + "/" + one.wins() + "/" + one.malformedLines() + " and "
+                                    + split.games() + "/" + split.wins() + "/" + split.malformedLines() + ".");
+        } catch (Exception e) { System.out.println("Failed: Exception: " + e); }
+        finally {
+            if (archive != null) archive.delete();
+        }
+    }
+
+    public static void testDecisionTree() {
+        System.out.println("Testing DecisionTree:");
+        String[] dict = Wordle.readDictionary("dictionary.txt");
+        WordleSolver solver = new WordleSolver(dict);
+        DecisionTree tree = DecisionTree.compile(dict, solver);
+        boolean passed = true;
+        for (String secret : dict) {
+            if (tree.solve(secret, dict) != solver.solve(secret)) passed = false;
+        }
+
+        // follow the hints on a board and check them against the solver's own guesses
+        String secret = "APPLY";
+        char[][] guesses = new char[Wordle.MAX_ATTEMPTS][5];
+        char[][] results = new char[Wordle.MAX_ATTEMPTS][5];
+        int[] patterns = new int[Wordle.MAX_ATTEMPTS];
+        solver.reset();
+        for (int row = 0; row < Wordle.MAX_ATTEMPTS; row++) {
+            int hint = tree.hint(guesses, results, row, dict);
+            int expected = solver.nextGuess();
+            if (hint != expected || tree.next(patterns, row) != expected) { passed = false; break; }
+            Wordle.storeGuess(dict[hint], guesses, row);
+            Wordle.computeFeedback(secret, dict[hint], results[row]);
+            if (Wordle.isAllGreen(results[row])) break;
+            patterns[row] = Wordle.encodeFeedback(results[row]);
+            solver.update(hint, patterns[row]);
+        }
+        Wordle.storeGuess("ZZZZZ", guesses, 0);
+        passed = passed && tree.hint(guesses, results, 1, dict) == -1 && tree.solve("QQQQQ", dict) == -1;
+
+        // a corrupt cache file is rebuilt instead of crashing the load
+        java.io.File file = DecisionTree.treeFile("tester_tree.txt");
+        try {
+            DecisionTree.load("tester_tree.txt", dict);
+            byte[] bytes = java.nio.file.Files.readAllBytes(file.toPath());
+            byte[] badLength = bytes.clone();
+            badLength[20] = (byte) 0x7F;
+            byte[] badOffset = bytes.clone();
+            badOffset[24 + 4 * 3] = (byte) 0x40;
+            for (byte[] corrupt : new byte[][] {badLength, badOffset}) {
+                java.nio.file.Files.write(file.toPath(), corrupt);
+                passed = passed && DecisionTree.read(file) == null
+                         && DecisionTree.load("tester_tree.txt", dict).solve("APPLY", dict) == solver.solve("APPLY");
+            }
+        } catch (java.io.IOException e) {
+            passed = false;
+        } finally {
+            file.delete();
+        }
+
+        if (passed) System.out.println("Passed: Tree plays exactly like the solver (Passed)");
+        else System.out.println("Failed: Decision tree disagrees with the solver.");
+    }
+
+    public static void testAbsurdle() {
+        System.out.println("Testing AbsurdleGame:");
+        String[] dict = Wordle.readDictionary("dictionary.txt");
+        AbsurdleGame adversary = new AbsurdleGame(dict);
+        char[] row = new char[5];
+        boolean passed = true;
+        String[] guesses = {"PLANE", "ABOUT", "APPLY", "AB1CD"};
+        for (String guess : guesses) {
+            // the largest group, found the slow way over the words still possible
+            int[] sizes = new int[PatternMatrix.PATTERNS];
+            for (int i = 0; i < adversary.size(); i++) {
+                Wordle.computeFeedback(dict[adversary.candidate(i)], guess, row);
+                sizes[Wordle.encodeFeedback(row)]++;
+            }
+            int largest = 0;
+            for (int n : sizes) largest = Math.max(largest, n);
+
+            int pattern = adversary.narrow(guess);
+            if (adversary.size() != largest || sizes[pattern] != largest) passed = false;
+            for (int i = 0; i < adversary.size(); i++) {
+                Wordle.computeFeedback(dict[adversary.candidate(i)], guess, row);
+                if (Wordle.encodeFeedback(row) != pattern) passed = false;
+            }
+        }
+
+        // a whole game: six misses reveal a word that fits every row
+        java.io.ByteArrayOutputStream bytes = new java.io.ByteArrayOutputStream();
+        java.io.PrintStream out = new java.io.PrintStream(bytes, true);
+        boolean won = Wordle.run(new String[] {"--absurdle"}, dict,
+                                 new In(new java.util.Scanner("PLANE\nABOUT\nAPPLY\nALONE\nAPPLE\nZZZZZ\n")), out);
+        String output = bytes.toString();
+        passed = passed && !won && output.contains("The secret word was: ") && !output.contains("Congratulations");
+        bytes.reset();
+        won = Wordle.run(new String[] {"--absurdle"}, new String[] {"APPLE"}, new In(new java.util.Scanner("APPLE\n")), out);
+        passed = passed && won && bytes.toString().contains("Congratulations! You guessed the word in 1 attempts.");
+
+        if (passed) System.out.println("Passed: Adversary keeps the largest consistent group (Passed)");
+        else System.out.println("Failed: Adversarial mode kept the wrong candidates.");
+    }
+
+    public static void testSharedTables() {
+        System.out.println("Testing SharedTables:");
+        String[] dict = Wordle.readDictionary("dictionary.txt");
+        java.io.File file = new java.io.File("tester_tables.shared");
+        java.io.File textFile = new java.io.File("tester_tables.txt");
+        boolean passed = true;
+        try {
+            SharedTables.write(dict, true, file);
+            SharedTables tables = SharedTables.open(file, "dictionary.txt");
+            String[] words = tables.toArray();
+            PatternMatrix shared = tables.matrix(words);
+            PatternMatrix built = PatternMatrix.build(dict);
+            passed = tables.hasMatrix() && java.util.Arrays.equals(words, dict);
+            for (int g = 0; g < dict.length && passed; g++) {
+                for (int s = 0; s < dict.length; s++) {
+                    if (shared.pattern(g, s) != built.pattern(g, s)) { passed = false; break; }
+                }
+            }
+
+            // 6-letter words take two bytes per cell; without a matrix there is none
+            String[] six = {"ORANGE", "BANANA", "CHERRY"};
+            SharedTables.write(six, true, file);
+            shared = SharedTables.open(file).matrix(six);
+            built = PatternMatrix.build(six);
+            for (int g = 0; g < six.length; g++) {
+                for (int s = 0; s < six.length; s++) {
+                    if (shared.pattern(g, s) != built.pattern(g, s)) passed = false;
+                }
+            }
+            SharedTables.write(six, false, file);
+            passed = passed && SharedTables.open(file).matrix(six) == null;
+
+            // a table built from another dictionary is stale
+            java.nio.file.Files.writeString(textFile.toPath(), "ORANGE\nBANANA\nLEMONS\n");
+            passed = passed && refused(file, textFile.getPath());
+
+            // a rejected word leaves no temporary file behind
+            try {
+                SharedTables.write(new String[] {"APPLE", "pLANE"}, true, file);
+                passed = false;
+            } catch (IllegalArgumentException expected) {
+                String[] left = new java.io.File(".").list((dir, name) -> name.startsWith(file.getName()) && name.endsWith(".tmp"));
+                passed = passed && left.length == 0;
+            }
+
+            // a flipped byte fails the checksum
+            SharedTables.write(six, false, file);
+            byte[] bytes = java.nio.file.Files.readAllBytes(file.toPath());
+            bytes[SharedTables.HEADER_BYTES] ^= 1;
+            java.nio.file.Files.write(file.toPath(), bytes);
+            passed = passed && refused(file, null);
+        } catch (java.io.IOException | IllegalArgumentException e) {
+            passed = false;
+        } finally {
+            file.delete();
+            textFile.delete();
+        }
+
+        if (passed) System.out.println("Passed: Mapped tables match the dictionary and matrix (Passed)");
+        else System.out.println("Failed: Shared tables are wrong or a bad file was accepted.");
+    }
+
+    // Returns true if SharedTables refuses to open file.
+    private static boolean refused(java.io.File file, String dictionaryFile) {
+        try {
+            if (dictionaryFile == null) SharedTables.open(file);
+            else SharedTables.open(file, dictionaryFile);
+            return false;
+        } catch (IllegalArgumentException e) {
+            return true;
+        }
+    }
+
+    public static void testSolver() {
+        System.out.println("Testing WordleSolver:");
+        try {
+            String[] dict = Wordle.readDictionary("dictionary.txt");
+            WordleSolver solver = new WordleSolver(dict);
+            WordleSolver parallel = new WordleSolver(dict);
+            parallel.setParallel(true);
+            int failures = 0;
+            for (String secret : dict) {
+                int attempts = solver.solve(secret);
+                if (attempts > Wordle.MAX_ATTEMPTS || attempts != parallel.solve(secret)) {
+                    if (failures == 0) System.out.println("Failed: Secret='" + secret + "' took " + attempts + " guesses.");
+                    failures++;
+                }
+            }
+            if (failures == 0) System.out.println("Passed: Solved every dictionary word within " + Wordle.MAX_ATTEMPTS + " guesses (Passed)");
+            else System.out.println("Failed: " + failures + " secrets were not solved consistently.");
+        } catch (Exception e) { System.out.println("Failed: Exception: " + e.getMessage()); }
+    }
+
+    public static void testCandidateSet() {
+        System.out.println("Testing CandidateSet:");
+        try {
+            String[] dict = Wordle.readDictionary("dictionary.txt");
+            PatternMatrix matrix = PatternMatrix.build(dict);
+            String secret = "APPLE";
+            String[] played = {"ABOUT", "PLANE", "APPLY"};
+            char[][] guesses = new char[6][5];
+            char[][] results = new char[6][5];
+            CandidateSet incremental = new CandidateSet(dict);
+            CandidateSet viaBitmaps = new CandidateSet(dict);
+            boolean passed = true;
+            char[] row = new char[5];
+            for (int attempt = 0; attempt < played.length; attempt++) {
+                Wordle.storeGuess(played[attempt], guesses, attempt);
+                Wordle.computeFeedback(secret, played[attempt], results[attempt]);
+                incremental.narrow(guesses, results, attempt);
+                int g = matrix.indexOf(played[attempt]);
+                viaBitmaps.intersect(CandidateSet.patternBitmaps(matrix, g)[Wordle.encodeFeedback(results[attempt])]);
+
+                // full rescan: a word stays if it explains every row so far
+                for (int w = 0; w < dict.length; w++) {
+                    boolean consistent = true;
+                    for (int r = 0; r <= attempt && consistent; r++) {
+                        Wordle.computeFeedback(dict[w], new String(guesses[r]), row);
+                        consistent = new String(row).equals(new String(results[r]));
+                    }
+                    if (consistent != incremental.contains(w) || consistent != viaBitmaps.contains(w)) {
+                        System.out.println("Failed: After guess " + (attempt + 1) + ", '" + dict[w] + "' should "
+                                           + (consistent ? "" : "not ") + "be a candidate.");
+                        passed = false;
+                    }
+                }
+            }
+            if (passed && incremental.contains(matrix.indexOf(secret)) && incremental.size() == incremental.toArray().length) {
+                System.out.println("Passed: Incremental narrowing matches a full rescan (Passed)");
+            } else if (passed) {
+                System.out.println("Failed: Candidate set lost the secret or miscounted (size=" + incremental.size() + ")");
+            }
+        } catch (Exception e) { System.out.println("Failed: Exception: " + e.getMessage()); }
+    }
+
+    public static void testSecretPicker() {
+        System.out.println("Testing SecretPicker:");
+        String[] dict = Wordle.readDictionary("dictionary.txt");
+        SecretPicker picker = new SecretPicker(dict);
+        boolean failed = false;
+
+        String[] first = picker.sample(20, SecretPicker.seeded(7));
+        String[] replay = picker.sample(20, SecretPicker.seeded(7));
+        if (!Arrays.equals(first, replay)) {
+            System.out.println("Failed: The same seed gave different secrets.");
+            failed = true;
+        }
+        String[] all = picker.sample(dict.length, SecretPicker.seeded(11));
+        if (new HashSet<>(Arrays.asList(all)).size() != new HashSet<>(Arrays.asList(dict)).size()) {
+            System.out.println("Failed: Sampling the whole dictionary repeated a word.");
+            failed = true;
+        }
+        LocalDate day = LocalDate.of(2025, 1, 1);
+        if (!picker.daily(day).equals(new SecretPicker(dict).daily(day))) {
+            System.out.println("Failed: The daily word is not stable for a date.");
+            failed = true;
+        }
+        if (!Arrays.asList(dict).contains(picker.choose())) {
+            System.out.println("Failed: choose() returned a word that is not in the dictionary.");
+            failed = true;
+        }
+        if (!failed) System.out.println("Passed 4/4 tests (Passed)");
+    }
+
+    public static void testWordIndex() {
+        System.out.println("Testing WordIndex:");
+        String[] dict = Wordle.readDictionary("dictionary.txt");
+        WordIndex index = new WordIndex(dict);
+        boolean failed = false;
+        for (String word : dict) {
+            if (!index.isValidWord(word) || !index.contains(PackedWord.pack(word))) {
+                System.out.println("Failed: '" + word + "' is in the dictionary but not in the index.");
+                failed = true;
+            }
+        }
+        if (!index.isValidWord("apple")) { System.out.println("Failed: isValidWord(\"apple\") returned false."); failed = true; }
+        if (index.isValidWord("ZZZZZ")) { System.out.println("Failed: isValidWord(\"ZZZZZ\") returned true."); failed = true; }
+        if (index.isValidWord("ABC")) { System.out.println("Failed: isValidWord(\"ABC\") returned true."); failed = true; }
+        if (!failed) System.out.println("Passed: Index agrees with the dictionary (Passed)");
+    }
+
+    public static void testOpeningBook() {
+        System.out.println("Testing OpeningBook:");
+        File dictFile = null;
+        try {
+            dictFile = File.createTempFile("book-dictionary", ".txt");
+            try (FileWriter writer = new FileWriter(dictFile)) { writer.write("APPLE\nHELPS\nABOUT\nPLANE\nALONE\nCRANE\n"); }
+            String[] dict = Wordle.readDictionary(dictFile.getPath());
+            OpeningBook book = OpeningBook.load(dictFile.getPath(), dict);
+            boolean passed = OpeningBook.bookFile(dictFile.getPath()).isFile();
+
+            WordleSolver plain = new WordleSolver(dict);
+            WordleSolver booked = new WordleSolver(dict);
+            booked.setOpeningBook(OpeningBook.load(dictFile.getPath(), dict));
+            for (String secret : dict) {
+                if (plain.solve(secret) != booked.solve(secret)) passed = false;
+            }
+
+            try (FileWriter writer = new FileWriter(dictFile)) { writer.write("APPLE\nHELPS\n"); }
+            String[] changed = Wordle.readDictionary(dictFile.getPath());
+            OpeningBook rebuilt = OpeningBook.load(dictFile.getPath(), changed);
+            if (!rebuilt.matches(changed) || book.matches(changed)) passed = false;
+
+            // a book whose hash matches but whose guesses are out of range is recomputed
+            File bookFile = OpeningBook.bookFile(dictFile.getPath());
+            byte[] bytes = java.nio.file.Files.readAllBytes(bookFile.toPath());
+            bytes[20] = (byte) 0x7F;
+            java.nio.file.Files.write(bookFile.toPath(), bytes);
+            if (OpeningBook.read(bookFile) != null || OpeningBook.load(dictFile.getPath(), changed).first() >= changed.length) passed = false;
+
+            if (passed) System.out.println("Passed: Opening book is cached, followed and rebuilt (Passed)");
+            else System.out.println("Failed: Opening book was not written, followed or rebuilt correctly.");
+        } catch (Exception e) { System.out.println("Failed: Exception: " + e.getMessage()); }
+        finally {
+            if (dictFile != null) {
+                OpeningBook.bookFile(dictFile.getPath()).delete();
+                dictFile.delete();
+            }
+        }
+    }
+
+    private static char[] decoded(PatternMatrix matrix, int guess, int secret) {
+        char[] row = new char[5];
+        matrix.feedback(guess, secret, row);
+        return row;
+    }
+
     // --- Robust Game Tests ---
 
     public static void testGameWinRobust() {
@@ -0,0 +1,62 @@
+/**
+ * Constant-time dictionary membership for 5-letter words: one bit for each
+ * of the 26^5 possible words (about 1.4 MB), set for the dictionary words.
+ * Lookups compute the word's base-26 number and test its bit, with no allocation.
+ * Usage: WordIndex index = new WordIndex(dict); index.isValidWord("APPLE");
+ */
+public final class WordIndex {
+
+    // Number of possible 5-letter words.
+    private static final int KEYS = 26 * 26 * 26 * 26 * 26;
+
+    private final long[] bits = new long[(KEYS + 63) >>> 6];
+    private final int size;
+
+    // Indexes every word of dict; words that are not 5 letters are skipped.
+    public WordIndex(String[] dict) {
+        int count = 0;
+        for (String word : dict) {
+            int key = key(word);
+            if (key < 0) continue;
+            long bit = 1L << key;
+            if ((bits[key >>> 6] & bit) == 0) count++;
+            bits[key >>> 6] |= bit;
+        }
+        this.size = count;
+    }
+
+    // Number of distinct words in the index.
+    public int size() {
+        return size;
+    }
+
+    // Returns true if word (in either case) is in the dictionary.
+    public boolean isValidWord(CharSequence word) {
+        int key = key(word);
+        return key >= 0 && (bits[key >>> 6] & (1L << key)) != 0;
+    }
+
+    // Returns true if the packed word (see PackedWord) is in the dictionary.
+    public boolean contains(int packed) {
+        int key = 0;
+        for (int i = PackedWord.LENGTH - 1; i >= 0; i--) {
+            key = key * 26 + PackedWord.letter(packed, i);
+        }
+        return (bits[key >>> 6] & (1L << key)) != 0;
+    }
+
+    // Returns the base-26 number of word, or -1 if it is not 5 letters.
+    private static int key(CharSequence word) {
+        if (word.length() != PackedWord.LENGTH) return -1;
+        int key = 0;
+        for (int i = PackedWord.LENGTH - 1; i >= 0; i--) {
+            char c = word.charAt(i);
+            int letter;
+            if (c >= 'A' && c <= 'Z')      letter = c - 'A';
+            else if (c >= 'a' && c <= 'z') letter = c - 'a';
+            else return -1;
+            key = key * 26 + letter;
+        }
+        return key;
+    }
+}
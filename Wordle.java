@@ -1,27 +1,104 @@
+import java.io.File;
+import java.io.PrintStream;
+
 public class Wordle {
 
+    // Length of every word in the standard game.
+    public static final int WORD_LENGTH = 5;
+
+    // Number of guesses the player gets in the standard game.
+    public static final int MAX_ATTEMPTS = 6;
+
+    // Where playGame records its games, or null to record nothing.
+    private static volatile WordleMetrics metrics;
+
+    // Makes every later playGame record into metrics; null turns recording off.
+    public static void setMetrics(WordleMetrics metrics) {
+        Wordle.metrics = metrics;
+    }
+
+    // The metrics playGame records into, or null.
+    public static WordleMetrics metrics() {
+        return metrics;
+    }
+
     // Reads all words from dictionary filename into a String array.
+    // Words are converted to upper case, like the player's guesses.
+    // If an up-to-date binary copy (see BinaryDictionary) sits next to the
+    // text file, the words are read from that instead. That skips tokenizing
+    // the text but still makes one String per word; a caller that can work on
+    // the mapping itself uses BinaryDictionary.load(BinaryDictionary.companionOf(filename)).
     public static String[] readDictionary(String filename) {
-		// ...
+        File bin = BinaryDictionary.companionOf(filename);
+        if (bin != null) {
+            try {
+                return BinaryDictionary.load(bin).toArray();
+            } catch (IllegalArgumentException e) {
+                // an unreadable binary copy is only a cache: read the text file
+            }
+        }
+        In in = new In(filename);
+        String[] words = in.readAllStrings();
+        in.close();
+        for (int i = 0; i < words.length; i++) {
+            words[i] = words[i].toUpperCase();
+        }
+        return words;
     }
 
     // Choose a random secret word from the dictionary. 
     // Hint: Pick a random index between 0 and dict.length (not including) using Math.random()
     public static String chooseSecretWord(String[] dict) {
-		// ...
+        int index = (int) (Math.random() * dict.length);
+        return dict[index];
     }
 
     // Simple helper: check if letter c appears anywhere in secret (true), otherwise
     // return false.
     public static boolean containsChar(String secret, char c) {
-		// ...
+        for (int i = 0; i < secret.length(); i++) {
+            if (secret.charAt(i) == c) {
+                return true;
+            }
+        }
+        return false;
     }
 
     // Compute feedback for a single guess into resultRow.
     // G for exact match, Y if letter appears anywhere else, _ otherwise.
     public static void computeFeedback(String secret, String guess, char[] resultRow) {
-		// ...
-		// you may want to use containsChar in your implementation
+        for (int i = 0; i < resultRow.length; i++) {
+            char c = guess.charAt(i);
+            if (secret.charAt(i) == c) {
+                resultRow[i] = 'G';
+            } else if (containsChar(secret, c)) {
+                resultRow[i] = 'Y';
+            } else {
+                resultRow[i] = '_';
+            }
+        }
+    }
+
+    // Encodes a feedback row as a base-3 number: digit i is 0 for '_', 1 for 'Y'
+    // and 2 for 'G', with position 0 as the least significant digit.
+    // A 5-letter row fits in 0..242, so it can be stored in a single byte.
+    public static int encodeFeedback(char[] resultRow) {
+        int pattern = 0;
+        for (int i = resultRow.length - 1; i >= 0; i--) {
+            char c = resultRow[i];
+            int digit = (c == 'G') ? 2 : (c == 'Y') ? 1 : 0;
+            pattern = pattern * 3 + digit;
+        }
+        return pattern;
+    }
+
+    // Decodes a pattern produced by encodeFeedback back into resultRow.
+    public static void decodeFeedback(int pattern, char[] resultRow) {
+        for (int i = 0; i < resultRow.length; i++) {
+            int digit = pattern % 3;
+            resultRow[i] = (digit == 2) ? 'G' : (digit == 1) ? 'Y' : '_';
+            pattern /= 3;
+        }
     }
 
     // Store guess string (chars) into the given row of guesses 2D array.
@@ -33,88 +110,148 @@ public class Wordle {
 	// guesses[2][3] // 'L'
 	// guesses[2][4] // 'O'
     public static void storeGuess(String guess, char[][] guesses, int row) {
-		// ...
+        for (int i = 0; i < guesses[row].length; i++) {
+            guesses[row][i] = guess.charAt(i);
+        }
     }
 
     // Prints the game board up to currentRow (inclusive).
     public static void printBoard(char[][] guesses, char[][] results, int currentRow) {
-        System.out.println("Current board:");
-        for (int row = 0; row <= currentRow; row++) {
-            System.out.print("Guess " + (row + 1) + ": ");
-            for (int col = 0; col < guesses[row].length; col++) {
-                System.out.print(guesses[row][col]);
-            }
-            System.out.print("   Result: ");
-            for (int col = 0; col < results[row].length; col++) {
-                System.out.print(results[row][col]);
-            }
-            System.out.println();
-        }
-        System.out.println();
+        printBoard(guesses, results, currentRow, System.out);
+    }
+
+    // Prints the game board up to currentRow (inclusive) to out, in a single write.
+    public static void printBoard(char[][] guesses, char[][] results, int currentRow, PrintStream out) {
+        StringBuilder sb = new StringBuilder(64 * (currentRow + 2));
+        ConsoleRenderer.appendBoard(sb, guesses, results, currentRow);
+        out.append(sb);
     }
 
     // Returns true if all entries in resultRow are 'G'.
     public static boolean isAllGreen(char[] resultRow) {
-		// ...
+        for (int i = 0; i < resultRow.length; i++) {
+            if (resultRow[i] != 'G') {
+                return false;
+            }
+        }
+        return true;
     }
 
-    public static void main(String[] args) {
+    // Printed by run when its arguments do not parse.
+    static final String USAGE = "Usage: java Wordle [--hard] [--absurdle] [wordLength] [maxAttempts]   (defaults: 5 and 6)";
 
-        int WORD_LENGTH = 5;
-        int MAX_ATTEMPTS = 6;
-        
-        // Read dictionary
-        String[] dict = readDictionary("dictionary.txt");
-
-        // Choose secret word
-        String secret = chooseSecretWord(dict);
-
-        // Prepare 2D arrays for guesses and results
-        char[][] guesses = // ...
-        char[][] results = // ...
+    // Usage: java Wordle [--hard] [--absurdle] [wordLength] [maxAttempts]   (defaults: 5 and 6)
+    public static void main(String[] args) {
 
         // Prepare to read from the standart input 
         In inp = new In();
 
-        int attempt = 0;
-        boolean won = false;
-
-        while (attempt < MAX_ATTEMPTS && !won) {
+        run(args, readDictionary("dictionary.txt"), inp, System.out);
 
-            String guess = "";
-            boolean valid = false;
+        inp.close();
+    }
 
-            // Loop until you read a valid guess
-            while (!valid) {
-                System.out.print("Enter your guess (5-letter word): ");
-                guess = // ... read from the standrad input
-                
-                if (/* ... check if the guess is valid */) {
-                    System.out.println("Invalid word. Please try again.");
-                } else {
-                    valid = true;
-                }
+    // Plays one game as main does with the same args, but with the given
+    // dictionary words, input and output instead of dictionary.txt, standard
+    // input and standard output. No file or System stream is touched, so
+    // independent games can run side by side. Returns true if the player won.
+    public static boolean run(String[] args, String[] dictionary, In inp, PrintStream out) {
+        boolean hardMode = false;
+        boolean absurdle = false;
+        int wordLength = WORD_LENGTH;
+        int maxAttempts = MAX_ATTEMPTS;
+        int positional = 0;
+        for (String arg : args) {
+            if (arg.equals("--hard")) hardMode = true;
+            else if (arg.equals("--absurdle")) absurdle = true;
+            else if (positional == 0) { wordLength = positiveInt(arg); positional++; }
+            else if (positional == 1) { maxAttempts = positiveInt(arg); positional++; }
+            else wordLength = -1;
+            if (wordLength < 1 || maxAttempts < 1) {
+                out.println("Unexpected argument '" + arg + "'.");
+                out.println(USAGE);
+                return false;
             }
+        }
 
-            // Store guess and compute feedback
-            // ... use storeGuess and computeFeedback
+        // Keep the dictionary words of the chosen length
+        String[] dict = wordsOfLength(dictionary, wordLength);
+        if (dict.length == 0) {
+            out.println("The dictionary has no " + wordLength + "-letter words.");
+            return false;
+        }
 
-            // Print board
-            printBoard(guesses, results, attempt);
+        // In the adversarial mode there is no secret until the game is lost
+        if (absurdle) {
+            GameSession session = new GameSession(new AbsurdleGame(dict), new ConsoleRenderer(out), null, maxAttempts, hardMode);
+            return play(session, inp);
+        }
 
-            // Check win
-            if (isAllGreen(results[attempt])) {
-                System.out.println("Congratulations! You guessed the word in " + (attempt + 1) + " attempts.");
-                won = true;
-            }
+        // Choose secret word
+        String secret = chooseSecretWord(dict);
 
-            attempt++;
+        return playGame(secret, inp, new ConsoleRenderer(out), null, maxAttempts, hardMode);
+    }
+
+    // Returns the value of a positive decimal argument, or -1 if it is not one.
+    private static int positiveInt(String arg) {
+        try {
+            int value = Integer.parseInt(arg);
+            return (value >= 1) ? value : -1;
+        } catch (NumberFormatException e) {
+            return -1;
         }
+    }
 
-        if (!won) {
-            // ... follow the assignment examples for how the printing should look like
+    // Returns the words of dict that have the given length, in order.
+    public static String[] wordsOfLength(String[] dict, int length) {
+        int count = 0;
+        for (String word : dict) {
+            if (word.length() == length) count++;
         }
+        if (count == dict.length) return dict;
+        String[] words = new String[count];
+        int k = 0;
+        for (String word : dict) {
+            if (word.length() == length) words[k++] = word;
+        }
+        return words;
+    }
 
-        inp.close();
+    // Plays one game against secret, reading guesses from inp and writing the
+    // prompts and boards to out. Returns true if the player won.
+    // Each call keeps its own board, so games on different threads are independent.
+    public static boolean playGame(String secret, In inp, PrintStream out) {
+        return playGame(secret, inp, out, null);
+    }
+
+    // Same as playGame(secret, inp, out), but if validWords is not null a guess
+    // must also be a dictionary word to be accepted.
+    public static boolean playGame(String secret, In inp, PrintStream out, WordIndex validWords) {
+        return playGame(secret, inp, new ConsoleRenderer(out), validWords, MAX_ATTEMPTS);
+    }
+
+    // Plays one game against secret, allowing maxAttempts guesses of the
+    // secret's length. Guesses are read from inp and the game is shown through
+    // renderer. If validWords is not null a guess must also be a dictionary
+    // word. Returns true if the player won.
+    public static boolean playGame(String secret, In inp, BoardRenderer renderer, WordIndex validWords, int maxAttempts) {
+        return playGame(secret, inp, renderer, validWords, maxAttempts, false);
+    }
+
+    // Same as playGame(secret, inp, renderer, validWords, maxAttempts); in hard
+    // mode every guess must also use the green and yellow hints revealed so far.
+    public static boolean playGame(String secret, In inp, BoardRenderer renderer, WordIndex validWords, int maxAttempts,
+                                   boolean hardMode) {
+        return play(new GameSession(secret, renderer, validWords, maxAttempts, hardMode), inp);
+    }
+
+    // Plays session to the end with guesses read from inp. Returns true if the player won.
+    private static boolean play(GameSession session, In inp) {
+        session.start();
+        while (session.offer(inp.readString())) {
+            // each token is a guess or is rejected with a message and a new prompt
+        }
+        return session.isWon();
     }
 }
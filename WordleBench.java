@@ -0,0 +1,279 @@
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Micro-benchmarks for the Wordle hot paths over synthetic dictionaries.
+ * Each benchmark is warmed up, then timed; it reports operations per second
+ * and bytes allocated per operation (from the per-thread allocation counter).
+ * Usage: java WordleBench [--sizes 257,13000,100000] [--time ms] [benchmark ...]
+ */
+public class WordleBench {
+
+    // Dictionary sizes used when --sizes is not given.
+    static final int[] DEFAULT_SIZES = {257, 1000, 13000, 100000};
+
+    // One benchmark operation; i counts up from 0 and stays non-negative.
+    // The results are summed into blackhole so that the JIT cannot drop the work.
+    interface Op {
+        long run(int i);
+    }
+
+    // Creates the Op for a dictionary; called once per size, outside the timing.
+    // Returns null if the benchmark does not run at that size.
+    interface Setup {
+        Op create(String[] dict) throws IOException;
+    }
+
+    static volatile long blackhole;
+
+    // Largest dictionary the pattern matrix benchmarks run on (n^2 cells are built).
+    static final int MATRIX_SIZE = 4000;
+
+    static final Map<String, Setup> BENCHMARKS = new LinkedHashMap<>();
+
+    static {
+        BENCHMARKS.put("readDictionary", dict -> {
+            File file = File.createTempFile("bench-dictionary", ".txt");
+            file.deleteOnExit();
+            try (FileWriter writer = new FileWriter(file)) {
+                for (String word : dict) writer.write(word + "\n");
+            }
+            String path = file.getPath();
+            return i -> Wordle.readDictionary(path).length;
+        });
+        BENCHMARKS.put("loadDictionary", dict -> {
+            File file = File.createTempFile("bench-feed", ".txt");
+            file.deleteOnExit();
+            try (FileWriter writer = new FileWriter(file)) {
+                for (String word : dict) writer.write(word.toLowerCase() + "\n" + word + "\n");
+            }
+            String path = file.getPath();
+            return i -> DictionaryLoader.load(path, Wordle.WORD_LENGTH).size();
+        });
+        BENCHMARKS.put("chooseSecretWord", dict -> i -> Wordle.chooseSecretWord(dict).length());
+        BENCHMARKS.put("containsChar", dict -> i -> Wordle.containsChar(dict[i % dict.length], (char) ('A' + i % 26)) ? 1 : 0);
+        BENCHMARKS.put("computeFeedback", dict -> {
+            char[] row = new char[Wordle.WORD_LENGTH];
+            int n = dict.length;
+            return i -> {
+                Wordle.computeFeedback(dict[i % n], dict[partner(i, n)], row);
+                return row[0];
+            };
+        });
+        BENCHMARKS.put("packedFeedback", dict -> {
+            int[] packed = PackedWord.packAll(dict);
+            int[] masks = PackedWord.masks(packed);
+            int n = dict.length;
+            return i -> {
+                int s = i % n;
+                return PackedWord.feedback(packed[s], masks[s], packed[partner(i, n)]);
+            };
+        });
+        BENCHMARKS.put("keyFeedback", dict -> keyFeedback(dict));
+        BENCHMARKS.put("keyFeedback8", dict -> keyFeedback(syntheticDictionary(dict.length, 8)));
+        BENCHMARKS.put("matrixLookup", dict -> {
+            if (dict.length > MATRIX_SIZE) return null;
+            PatternMatrix matrix = PatternMatrix.build(dict);
+            int n = dict.length;
+            return i -> matrix.pattern(i % n, partner(i, n));
+        });
+        BENCHMARKS.put("matrixLookup6", dict -> {
+            if (dict.length > MATRIX_SIZE) return null;
+            PatternMatrix matrix = PatternMatrix.build(syntheticDictionary(dict.length, 6));
+            int n = dict.length;
+            return i -> matrix.pattern(i % n, partner(i, n));
+        });
+        BENCHMARKS.put("matrixBuild", dict -> {
+            if (dict.length > MATRIX_SIZE) return null;
+            return i -> PatternMatrix.build(dict).size();
+        });
+        BENCHMARKS.put("multiBoard4", dict -> multiBoard(dict, 4));
+        BENCHMARKS.put("multiBoard32", dict -> multiBoard(dict, 32));
+        BENCHMARKS.put("absurdleTurn", dict -> {
+            AbsurdleGame adversary = new AbsurdleGame(dict);
+            return i -> {
+                adversary.reset();
+                return adversary.narrow(dict[i % dict.length]);
+            };
+        });
+        BENCHMARKS.put("recordGuess", dict -> {
+            WordleMetrics metrics = new WordleMetrics();
+            return i -> {
+                metrics.guessProcessed(i & 0xFFFFF);
+                return i;
+            };
+        });
+        BENCHMARKS.put("isValidWord", dict -> {
+            WordIndex index = new WordIndex(dict);
+            String[] queries = membershipQueries(dict);
+            return i -> index.isValidWord(queries[i & (queries.length - 1)]) ? 1 : 0;
+        });
+        BENCHMARKS.put("linearScan", dict -> {
+            String[] queries = membershipQueries(dict);
+            return i -> {
+                String query = queries[i & (queries.length - 1)];
+                for (String word : dict) {
+                    if (word.equals(query)) return 1;
+                }
+                return 0;
+            };
+        });
+        BENCHMARKS.put("isAllGreen", dict -> {
+            char[][] rows = {"GGGGG".toCharArray(), "GGGGY".toCharArray(), "_GGGG".toCharArray()};
+            return i -> Wordle.isAllGreen(rows[i % rows.length]) ? 1 : 0;
+        });
+        BENCHMARKS.put("printBoard", dict -> {
+            char[][] guesses = new char[Wordle.MAX_ATTEMPTS][Wordle.WORD_LENGTH];
+            char[][] results = new char[Wordle.MAX_ATTEMPTS][Wordle.WORD_LENGTH];
+            for (int row = 0; row < Wordle.MAX_ATTEMPTS; row++) {
+                Wordle.storeGuess(dict[row % dict.length], guesses, row);
+                Wordle.computeFeedback(dict[0], dict[row % dict.length], results[row]);
+            }
+            PrintStream sink = new PrintStream(OutputStream.nullOutputStream());
+            return i -> {
+                PrintStream original = System.out;
+                System.setOut(sink);
+                try {
+                    Wordle.printBoard(guesses, results, Wordle.MAX_ATTEMPTS - 1);
+                } finally {
+                    System.setOut(original);
+                }
+                return 1;
+            };
+        });
+    }
+
+    // PackedKey feedback over dict, whose words may have any length up to 12.
+    static Op keyFeedback(String[] dict) {
+        int length = dict[0].length();
+        long[] keys = PackedKey.packAll(dict);
+        int[] masks = PackedKey.masks(keys, length);
+        int n = dict.length;
+        return i -> {
+            int s = i % n;
+            return PackedKey.feedback(keys[s], masks[s], keys[partner(i, n)], length);
+        };
+    }
+
+    // One guess of a game on the given number of boards; the game restarts when it is over.
+    static Op multiBoard(String[] dict, int boards) {
+        String[] secrets = new SecretPicker(dict).sample(boards, SecretPicker.seeded(boards));
+        MultiBoardGame game = new MultiBoardGame(secrets, 1000);
+        int n = dict.length;
+        return i -> {
+            if (game.isOver()) game.reset(secrets);
+            return game.guess(dict[i % n]);
+        };
+    }
+
+    // The secret index paired with guess index i % n: it moves on by one after
+    // each pass over the n guesses, so every pair comes up. i goes up to
+    // Integer.MAX_VALUE, where i + i / n wraps negative; floorMod keeps the
+    // index in range without slowing the loop down with long arithmetic.
+    static int partner(int i, int n) {
+        return Math.floorMod(i + i / n, n);
+    }
+
+    // Returns 1024 lookups for dict, half of them dictionary words and half probably not.
+    static String[] membershipQueries(String[] dict) {
+        String[] others = syntheticDictionary(512 + dict.length);
+        String[] queries = new String[1024];
+        for (int i = 0; i < 512; i++) {
+            queries[2 * i] = dict[(int) ((long) i * 7919 % dict.length)];
+            queries[2 * i + 1] = others[dict.length + i];
+        }
+        return queries;
+    }
+
+    // Returns n distinct pseudo-random upper-case 5-letter words; the same n always gives the same words.
+    static String[] syntheticDictionary(int n) {
+        return syntheticDictionary(n, Wordle.WORD_LENGTH);
+    }
+
+    // Same as syntheticDictionary(n), with words of the given length.
+    static String[] syntheticDictionary(int n, int length) {
+        SplittableRandom random = new SplittableRandom(n);
+        Set<String> seen = new HashSet<>();
+        String[] dict = new String[n];
+        char[] word = new char[length];
+        int count = 0;
+        while (count < n) {
+            for (int i = 0; i < word.length; i++) {
+                word[i] = (char) ('A' + random.nextInt(26));
+            }
+            String s = new String(word);
+            if (seen.add(s)) dict[count++] = s;
+        }
+        return dict;
+    }
+
+    // Runs op for about millis milliseconds after an equal warm-up, and prints
+    // ops/s and allocated bytes per op.
+    static void measure(String name, int size, Op op, long millis) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long sink = 0;
+        int batch = 1;
+        // warm up, growing the batch until one batch takes about 10 ms
+        long warmupEnd = System.nanoTime() + millis * 1_000_000L;
+        while (System.nanoTime() < warmupEnd) {
+            long start = System.nanoTime();
+            for (int i = 0; i < batch; i++) sink += op.run(i);
+            if (System.nanoTime() - start < 10_000_000L && batch < (1 << 24)) batch *= 2;
+        }
+
+        long ops = 0;
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        long end = start + millis * 1_000_000L;
+        long now;
+        do {
+            for (int i = 0; i < batch; i++) sink += op.run((int) ((ops + i) & Integer.MAX_VALUE));
+            ops += batch;
+            now = System.nanoTime();
+        } while (now < end);
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+
+        double opsPerSecond = ops * 1e9 / (now - start);
+        System.out.printf("%-20s %8d %16.1f %12.1f%n", name, size, opsPerSecond, (double) allocated / ops);
+        blackhole = sink;
+    }
+
+    public static void main(String[] args) throws IOException {
+        int[] sizes = DEFAULT_SIZES;
+        long millis = 1000;
+        Set<String> selected = new HashSet<>();
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--sizes")) {
+                String[] parts = args[++i].split(",");
+                sizes = new int[parts.length];
+                for (int j = 0; j < parts.length; j++) sizes[j] = Integer.parseInt(parts[j]);
+            } else if (args[i].equals("--time")) {
+                millis = Long.parseLong(args[++i]);
+            } else if (BENCHMARKS.containsKey(args[i])) {
+                selected.add(args[i]);
+            } else {
+                System.out.println("Unknown benchmark '" + args[i] + "'. Available: " + BENCHMARKS.keySet());
+                return;
+            }
+        }
+
+        System.out.printf("%-20s %8s %16s %12s%n", "Benchmark", "Size", "ops/s", "B/op");
+        for (int size : sizes) {
+            String[] dict = syntheticDictionary(size);
+            for (Map.Entry<String, Setup> bench : BENCHMARKS.entrySet()) {
+                if (!selected.isEmpty() && !selected.contains(bench.getKey())) continue;
+                Op op = bench.getValue().create(dict);
+                if (op != null) measure(bench.getKey(), size, op, millis);
+            }
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/**
+ * The state of one Wordle game, with no input or output: the secret, the
+ * board of guesses and results, the attempt count and whether the game is
+ * won or lost. Feedback is computed with Wordle.computeFeedback.
+ * Usage: WordleGame game = new WordleGame("APPLE"); game.guess("HELPS");
+ */
+public final class WordleGame {
+
+    public enum Status { IN_PROGRESS, WON, LOST }
+
+    private final int maxAttempts;
+    private final WordleMetrics metrics;
+    private final char[][] guesses;
+    private final char[][] results;
+    private String secret;
+    private int attempts;
+    private Status status;
+
+    // Starts a game against secret with the standard number of attempts.
+    public WordleGame(String secret) {
+        this(secret, Wordle.MAX_ATTEMPTS);
+    }
+
+    // Starts a game against secret that allows maxAttempts guesses.
+    public WordleGame(String secret, int maxAttempts) {
+        this(secret, maxAttempts, null);
+    }
+
+    // Same as WordleGame(secret, maxAttempts), recording every game and guess
+    // in metrics unless it is null.
+    public WordleGame(String secret, int maxAttempts, WordleMetrics metrics) {
+        if (maxAttempts < 1) throw new IllegalArgumentException("maxAttempts must be positive: " + maxAttempts);
+        this.maxAttempts = maxAttempts;
+        this.metrics = metrics;
+        this.guesses = new char[maxAttempts][secret.length()];
+        this.results = new char[maxAttempts][secret.length()];
+        reset(secret);
+    }
+
+    // Starts a new game against secret on this board; secret must have the same length as before.
+    public void reset(String secret) {
+        if (secret.length() != guesses[0].length) {
+            throw new IllegalArgumentException("secret \"" + secret + "\" is not " + guesses[0].length + " letters long");
+        }
+        this.secret = secret;
+        this.attempts = 0;
+        this.status = Status.IN_PROGRESS;
+        if (metrics != null) metrics.gameStarted();
+    }
+
+    // Replaces the secret in the middle of a game, for the adversarial mode:
+    // the new secret must give the same feedback as the old one to every row so far.
+    public void moveSecret(String secret) {
+        if (secret.length() != this.secret.length()) {
+            throw new IllegalArgumentException("secret \"" + secret + "\" is not " + this.secret.length() + " letters long");
+        }
+        this.secret = secret;
+    }
+
+    // Returns true if guess has the right length to be played.
+    public boolean isValidGuess(String guess) {
+        return guess.length() == secret.length();
+    }
+
+    // Plays guess, which must be valid, and returns its row of feedback.
+    public char[] guess(String guess) {
+        if (status != Status.IN_PROGRESS) throw new IllegalStateException("the game is over");
+        if (!isValidGuess(guess)) throw new IllegalArgumentException("guess \"" + guess + "\" is not " + secret.length() + " letters long");
+        long start = (metrics != null) ? System.nanoTime() : 0;
+        int row = attempts;
+        Wordle.storeGuess(guess, guesses, row);
+        Wordle.computeFeedback(secret, guess, results[row]);
+        attempts++;
+        if (Wordle.isAllGreen(results[row]))  status = Status.WON;
+        else if (attempts == maxAttempts)     status = Status.LOST;
+        if (metrics != null) {
+            metrics.feedbackComputed();
+            metrics.guessProcessed(System.nanoTime() - start);
+            if (status == Status.WON)       metrics.gameWon(attempts);
+            else if (status == Status.LOST) metrics.gameLost();
+        }
+        return results[row];
+    }
+
+    public String secret() {
+        return secret;
+    }
+
+    public int wordLength() {
+        return secret.length();
+    }
+
+    public int maxAttempts() {
+        return maxAttempts;
+    }
+
+    // Number of guesses played so far.
+    public int attempts() {
+        return attempts;
+    }
+
+    public Status status() {
+        return status;
+    }
+
+    public boolean isOver() {
+        return status != Status.IN_PROGRESS;
+    }
+
+    public boolean isWon() {
+        return status == Status.WON;
+    }
+
+    // The board of guesses; rows 0 .. attempts()-1 are filled.
+    public char[][] guesses() {
+        return guesses;
+    }
+
+    // The board of results; rows 0 .. attempts()-1 are filled.
+    public char[][] results() {
+        return results;
+    }
+}
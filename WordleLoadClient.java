@@ -0,0 +1,97 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Load generator for WordleServer. Plays many games at once against a server
+ * on localhost, guessing random dictionary words, and reports the latency from
+ * sending a guess to receiving its board.
+ * Usage: java WordleLoadClient [port] [games] [concurrency]
+ */
+public class WordleLoadClient {
+
+    // Plays one game and returns the latency of each guess in nanoseconds.
+    static long[] playGame(int port, String[] dict, long seed) throws IOException {
+        SplittableRandom random = new SplittableRandom(seed);
+        long[] latencies = new long[Wordle.MAX_ATTEMPTS];
+        int guesses = 0;
+        try (Socket socket = new Socket("localhost", port)) {
+            socket.setTcpNoDelay(true);
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            PrintStream out = new PrintStream(socket.getOutputStream(), false, "UTF-8");
+            boolean over = false;
+            while (!over && guesses < Wordle.MAX_ATTEMPTS) {
+                long start = System.nanoTime();
+                out.print(dict[random.nextInt(dict.length)] + "\n");
+                out.flush();
+                // the board ends with an empty line; its last row tells whether we won
+                String line;
+                String lastRow = "";
+                while ((line = in.readLine()) != null && !line.isEmpty()) {
+                    lastRow = line;
+                }
+                latencies[guesses++] = System.nanoTime() - start;
+                over = (line == null) || lastRow.endsWith("Result: GGGGG");
+            }
+            // drain the end-of-game message
+            while (in.readLine() != null) { }
+        }
+        return Arrays.copyOf(latencies, guesses);
+    }
+
+    public static void main(String[] args) throws Exception {
+        int port = (args.length > 0) ? Integer.parseInt(args[0]) : WordleServer.DEFAULT_PORT;
+        int games = (args.length > 1) ? Integer.parseInt(args[1]) : 10000;
+        int concurrency = (args.length > 2) ? Integer.parseInt(args[2]) : 1000;
+        String[] dict = Wordle.readDictionary("dictionary.txt");
+
+        long start = System.nanoTime();
+        List<Future<long[]>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Semaphore slots = new Semaphore(concurrency);
+            for (int g = 0; g < games; g++) {
+                long seed = g;
+                slots.acquire();
+                results.add(executor.submit(() -> {
+                    try {
+                        return playGame(port, dict, seed);
+                    } finally {
+                        slots.release();
+                    }
+                }));
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        int failed = 0;
+        int total = 0;
+        long[] all = new long[games * Wordle.MAX_ATTEMPTS];
+        for (Future<long[]> result : results) {
+            try {
+                long[] latencies = result.get();
+                System.arraycopy(latencies, 0, all, total, latencies.length);
+                total += latencies.length;
+            } catch (ExecutionException e) {
+                failed++;
+            }
+        }
+        Arrays.sort(all, 0, total);
+        System.out.printf("%d games (%d failed), %d guesses in %.2f s%n", games, failed, total, seconds);
+        if (total > 0) {
+            System.out.printf("per-guess latency: p50 %.3f ms, p99 %.3f ms, max %.3f ms%n",
+                              all[total / 2] / 1e6, all[(int) (total * 0.99)] / 1e6, all[total - 1] / 1e6);
+        }
+    }
+}
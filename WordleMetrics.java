@@ -0,0 +1,211 @@
+import java.io.PrintStream;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters for the game loop: games started, won and lost, the attempts
+ * each win took, invalid guesses, feedback computations and the time spent
+ * processing each guess. Every counter is a LongAdder, which stripes updates
+ * across cells so that threads do not contend, and latencies go into fixed
+ * log-linear buckets (as in HdrHistogram), so recording never allocates.
+ * Usage: Wordle.setMetrics(metrics); ... System.out.print(metrics.snapshot());
+ */
+public final class WordleMetrics {
+
+    // Wins are counted by attempts up to this many; longer wins share the last bucket.
+    public static final int MAX_ATTEMPT_BUCKET = 32;
+
+    private final LongAdder started = new LongAdder();
+    private final LongAdder won = new LongAdder();
+    private final LongAdder lost = new LongAdder();
+    private final LongAdder guesses = new LongAdder();
+    private final LongAdder invalid = new LongAdder();
+    private final LongAdder feedback = new LongAdder();
+    private final LongAdder[] attempts = adders(MAX_ATTEMPT_BUCKET + 1);
+    private final LatencyHistogram guessLatency = new LatencyHistogram();
+
+    private static LongAdder[] adders(int n) {
+        LongAdder[] adders = new LongAdder[n];
+        for (int i = 0; i < n; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+
+    public void gameStarted() {
+        started.increment();
+    }
+
+    public void gameWon(int attemptCount) {
+        won.increment();
+        attempts[Math.min(attemptCount, MAX_ATTEMPT_BUCKET)].increment();
+    }
+
+    public void gameLost() {
+        lost.increment();
+    }
+
+    public void invalidGuess() {
+        invalid.increment();
+    }
+
+    public void feedbackComputed() {
+        feedback.increment();
+    }
+
+    // Records one processed guess that took the given number of nanoseconds.
+    public void guessProcessed(long nanos) {
+        guesses.increment();
+        guessLatency.record(nanos);
+    }
+
+    // Returns a copy of every counter. Counters are read one after another
+    // while other threads keep recording, so they may be a few updates apart.
+    public Snapshot snapshot() {
+        long[] wins = new long[attempts.length];
+        for (int k = 0; k < wins.length; k++) {
+            wins[k] = attempts[k].sum();
+        }
+        return new Snapshot(started.sum(), won.sum(), lost.sum(), guesses.sum(), invalid.sum(), feedback.sum(),
+                            wins, guessLatency.counts());
+    }
+
+    // Prints a snapshot to out every periodMillis milliseconds on a daemon
+    // thread, until the returned handle is closed.
+    public AutoCloseable startDump(PrintStream out, long periodMillis) {
+        ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "wordle-metrics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.scheduleAtFixedRate(() -> {
+            out.print(snapshot());
+            out.flush();
+        }, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+        return timer::shutdownNow;
+    }
+
+    // Latencies in nanoseconds, counted in buckets of 8 per power of two:
+    // values below 8 get their own bucket, and any larger value is off by at
+    // most 1/8 of itself.
+    static final class LatencyHistogram {
+
+        // Sub-buckets per power of two, as a number of bits.
+        static final int SUB_BITS = 3;
+        static final int BUCKETS = (64 - SUB_BITS + 1) << SUB_BITS;
+
+        private final LongAdder[] counts = adders(BUCKETS);
+
+        void record(long nanos) {
+            counts[bucket(Math.max(nanos, 0))].increment();
+        }
+
+        long[] counts() {
+            long[] copy = new long[BUCKETS];
+            for (int i = 0; i < BUCKETS; i++) {
+                copy[i] = counts[i].sum();
+            }
+            return copy;
+        }
+
+        // Bucket of a non-negative value.
+        static int bucket(long value) {
+            int exponent = 63 - Long.numberOfLeadingZeros(value);
+            if (exponent < SUB_BITS) return (int) value;
+            int sub = (int) (value >>> (exponent - SUB_BITS)) & ((1 << SUB_BITS) - 1);
+            return ((exponent - SUB_BITS + 1) << SUB_BITS) + sub;
+        }
+
+        // Largest value that falls into bucket.
+        static long highestValue(int bucket) {
+            if (bucket < (1 << SUB_BITS)) return bucket;
+            int exponent = (bucket >>> SUB_BITS) + SUB_BITS - 1;
+            long sub = bucket & ((1 << SUB_BITS) - 1);
+            long low = (1L << exponent) + (sub << (exponent - SUB_BITS));
+            return low + (1L << (exponent - SUB_BITS)) - 1;
+        }
+    }
+
+    // The counters at one moment.
+    public static final class Snapshot {
+        public final long gamesStarted;
+        public final long gamesWon;
+        public final long gamesLost;
+        public final long guesses;
+        public final long invalidGuesses;
+        public final long feedbackCalls;
+
+        // winsByAttempts[k] games were won in k attempts (the last bucket also holds longer wins)
+        private final long[] winsByAttempts;
+        private final long[] latencyCounts;
+
+        Snapshot(long gamesStarted, long gamesWon, long gamesLost, long guesses, long invalidGuesses,
+                 long feedbackCalls, long[] winsByAttempts, long[] latencyCounts) {
+            this.gamesStarted = gamesStarted;
+            this.gamesWon = gamesWon;
+            this.gamesLost = gamesLost;
+            this.guesses = guesses;
+            this.invalidGuesses = invalidGuesses;
+            this.feedbackCalls = feedbackCalls;
+            this.winsByAttempts = winsByAttempts;
+            this.latencyCounts = latencyCounts;
+        }
+
+        // Number of games won in the given number of attempts.
+        public long winsIn(int attempts) {
+            return winsByAttempts[Math.min(attempts, MAX_ATTEMPT_BUCKET)];
+        }
+
+        // Games started but not yet won or lost (including abandoned ones).
+        public long gamesInProgress() {
+            return gamesStarted - gamesWon - gamesLost;
+        }
+
+        // Fraction of the guesses entered that were rejected.
+        public double invalidGuessRate() {
+            long entered = guesses + invalidGuesses;
+            return (entered == 0) ? 0 : (double) invalidGuesses / entered;
+        }
+
+        // Guess latency in nanoseconds at the given percentile (0 to 100),
+        // as the upper bound of its bucket; 0 if nothing was recorded.
+        public long guessLatencyPercentile(double percentile) {
+            long total = 0;
+            for (long c : latencyCounts) total += c;
+            if (total == 0) return 0;
+            long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+            long seen = 0;
+            for (int b = 0; b < latencyCounts.length; b++) {
+                seen += latencyCounts[b];
+                if (seen >= rank) return LatencyHistogram.highestValue(b);
+            }
+            return LatencyHistogram.highestValue(latencyCounts.length - 1);
+        }
+
+        @Override
+        public String toString() {
+            String newline = System.lineSeparator();
+            StringBuilder sb = new StringBuilder(256);
+            sb.append("games: started ").append(gamesStarted).append(", won ").append(gamesWon)
+              .append(", lost ").append(gamesLost).append(", in progress ").append(gamesInProgress()).append(newline);
+            sb.append("wins by attempts:");
+            for (int k = 1; k < winsByAttempts.length; k++) {
+                if (winsByAttempts[k] != 0) sb.append(' ').append(k).append('=').append(winsByAttempts[k]);
+            }
+            sb.append(newline);
+            sb.append("guesses: ").append(guesses).append(", invalid ").append(invalidGuesses)
+              .append(String.format(" (%.1f%%)", 100 * invalidGuessRate()))
+              .append(", feedback calls ").append(feedbackCalls).append(newline);
+            sb.append("guess latency (us): p50 ").append(micros(guessLatencyPercentile(50)))
+              .append(", p99 ").append(micros(guessLatencyPercentile(99)))
+              .append(", max ").append(micros(guessLatencyPercentile(100))).append(newline);
+            return sb.toString();
+        }
+
+        private static String micros(long nanos) {
+            return String.format("%.1f", nanos / 1000.0);
+        }
+    }
+}
@@ -0,0 +1,273 @@
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Selector-driven game server: the same protocol as WordleServer, but every
+ * connection is a non-blocking channel multiplexed onto a few selector
+ * threads. Input is parsed with In.ChannelReader as it arrives and each
+ * complete token is played through a GameSession; output is collected in a
+ * per-connection buffer and written when the channel can take it.
+ * Usage: java WordleNioServer [port] [--threads n] [--daily] [--strict] [--shared tables.shared]
+ */
+public class WordleNioServer {
+
+    // Longest incomplete token a client may send; a game token is a few letters.
+    static final int MAX_PENDING_INPUT = 1024;
+
+    // Most output a connection may have queued for a client that is not reading.
+    static final int MAX_QUEUED_OUTPUT = 16 * 1024;
+
+    private final SecretPicker picker;
+    private final boolean daily;
+
+    // the words accepted as guesses, or null to accept any 5-letter guess
+    private final WordIndex validWords;
+
+    private final Loop[] loops;
+    private volatile boolean running = true;
+
+    public WordleNioServer(String[] dict, boolean daily, boolean strict, int threads) throws IOException {
+        if (threads < 1) throw new IllegalArgumentException("threads must be positive: " + threads);
+        this.picker = new SecretPicker(dict.clone());
+        this.daily = daily;
+        this.validWords = strict ? new WordIndex(dict) : null;
+        this.loops = new Loop[threads];
+        for (int i = 0; i < threads; i++) {
+            loops[i] = new Loop();
+        }
+    }
+
+    // Accepts connections on serverChannel until it is closed, handing them
+    // to the selector threads in turn.
+    public void serve(ServerSocketChannel serverChannel) throws IOException {
+        Thread[] threads = new Thread[loops.length];
+        for (int i = 0; i < loops.length; i++) {
+            threads[i] = new Thread(loops[i], "wordle-selector-" + i);
+            threads[i].start();
+        }
+        try {
+            for (int next = 0; serverChannel.isOpen(); next = (next + 1) % loops.length) {
+                SocketChannel channel;
+                try {
+                    channel = serverChannel.accept();
+                } catch (IOException e) {
+                    if (!serverChannel.isOpen()) break;
+                    throw e;
+                }
+                loops[next].add(channel);
+            }
+        } finally {
+            running = false;
+            for (Loop loop : loops) {
+                loop.selector.wakeup();
+            }
+        }
+    }
+
+    // One selector thread and the connections registered with it.
+    private final class Loop implements Runnable {
+        private final Selector selector = Selector.open();
+        private final Queue<SocketChannel> pending = new ConcurrentLinkedQueue<>();
+        private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(8192);
+
+        Loop() throws IOException {
+        }
+
+        void add(SocketChannel channel) {
+            pending.add(channel);
+            selector.wakeup();
+        }
+
+        @Override
+        public void run() {
+            try (selector) {
+                while (running) {
+                    selector.select();
+                    SocketChannel channel;
+                    while ((channel = pending.poll()) != null) {
+                        open(channel);
+                    }
+                    Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                    while (keys.hasNext()) {
+                        SelectionKey key = keys.next();
+                        keys.remove();
+                        Connection connection = (Connection) key.attachment();
+                        try {
+                            if (key.isReadable()) connection.readable();
+                            if (key.isValid() && key.isWritable()) connection.flush();
+                        } catch (IOException | RuntimeException e) {
+                            // one broken session must not take the selector thread down with it
+                            connection.close();
+                        }
+                    }
+                }
+                for (SelectionKey key : selector.keys()) {
+                    ((Connection) key.attachment()).close();
+                }
+            } catch (IOException | ClosedSelectorException e) {
+                System.err.println("Selector loop failed: " + e.getMessage());
+            }
+        }
+
+        private void open(SocketChannel channel) {
+            try {
+                channel.configureBlocking(false);
+                channel.socket().setTcpNoDelay(true);
+                SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+                Connection connection = new Connection(key, readBuffer);
+                key.attach(connection);
+                connection.start();
+            } catch (IOException | RuntimeException e) {
+                try {
+                    channel.close();
+                } catch (IOException ignored) {
+                    // already failing
+                }
+            }
+        }
+    }
+
+    // One game over one channel.
+    private final class Connection {
+        private final SelectionKey key;
+        private final SocketChannel channel;
+        private final ByteBuffer readBuffer;
+        private final In.ChannelReader input = new In.ChannelReader();
+        private final Output output = new Output();
+        private final GameSession session;
+
+        Connection(SelectionKey key, ByteBuffer readBuffer) {
+            this.key = key;
+            this.channel = (SocketChannel) key.channel();
+            this.readBuffer = readBuffer;
+            String secret = daily ? picker.daily() : picker.choose();
+            PrintStream out = new PrintStream(output, false, StandardCharsets.UTF_8);
+            this.session = new GameSession(secret, new ConsoleRenderer(out), validWords, Wordle.MAX_ATTEMPTS, false);
+        }
+
+        void start() throws IOException {
+            session.start();
+            flush();
+        }
+
+        // Reads what has arrived and plays every complete token.
+        void readable() throws IOException {
+            readBuffer.clear();
+            int n = channel.read(readBuffer);
+            if (n < 0) {
+                input.end();
+            } else {
+                readBuffer.flip();
+                input.feed(readBuffer);
+            }
+            String token;
+            while (!session.isOver() && (token = input.pollString()) != null) {
+                session.offer(token);
+            }
+            if (n < 0 && !session.isOver()) {
+                // the client disconnected in the middle of the game
+                close();
+                return;
+            }
+            if (input.pending() > MAX_PENDING_INPUT || output.overflowed) {
+                // a token with no end in sight, or a client that sends but never reads
+                close();
+                return;
+            }
+            flush();
+        }
+
+        // Writes as much pending output as the channel takes; closes the
+        // connection once the game is over and everything is written.
+        void flush() throws IOException {
+            ByteBuffer buffer = output.buffer;
+            buffer.flip();
+            channel.write(buffer);
+            boolean drained = !buffer.hasRemaining();
+            buffer.compact();
+            if (drained && session.isOver()) {
+                close();
+            } else if (key.isValid()) {
+                key.interestOps(drained ? SelectionKey.OP_READ : SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+            }
+        }
+
+        void close() {
+            key.cancel();
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // nothing more to do with this connection
+            }
+        }
+    }
+
+    // Collects the bytes a session prints, in a buffer that grows as needed up
+    // to MAX_QUEUED_OUTPUT; beyond that the bytes are dropped and overflowed is
+    // set, and the connection is closed.
+    private static final class Output extends OutputStream {
+        ByteBuffer buffer = ByteBuffer.allocate(1024);
+        boolean overflowed;
+
+        @Override
+        public void write(int b) {
+            if (!ensure(1)) return;
+            buffer.put((byte) b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            if (!ensure(len)) return;
+            buffer.put(b, off, len);
+        }
+
+        private boolean ensure(int n) {
+            if (buffer.remaining() >= n) return true;
+            if (overflowed || buffer.position() + n > MAX_QUEUED_OUTPUT) {
+                overflowed = true;
+                return false;
+            }
+            ByteBuffer bigger = ByteBuffer.allocate(Math.min(MAX_QUEUED_OUTPUT, Math.max(buffer.capacity() * 2, buffer.position() + n)));
+            buffer.flip();
+            bigger.put(buffer);
+            buffer = bigger;
+            return true;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = WordleServer.DEFAULT_PORT;
+        int threads = 2;
+        boolean daily = false;
+        boolean strict = false;
+        String sharedFile = null;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--daily"))        daily = true;
+            else if (args[i].equals("--strict"))  strict = true;
+            else if (args[i].equals("--threads")) threads = Integer.parseInt(args[++i]);
+            else if (args[i].equals("--shared"))  sharedFile = args[++i];
+            else port = Integer.parseInt(args[i]);
+        }
+        String[] dict = (sharedFile != null) ? SharedTables.open(new File(sharedFile), "dictionary.txt").toArray()
+                                             : Wordle.readDictionary("dictionary.txt");
+        WordleNioServer server = new WordleNioServer(dict, daily, strict, threads);
+        try (ServerSocketChannel serverChannel = ServerSocketChannel.open()) {
+            serverChannel.bind(new InetSocketAddress(port), 1024);
+            System.out.println("Wordle NIO server listening on port " + port + " with " + threads + " selector threads");
+            server.serve(serverChannel);
+        }
+    }
+}
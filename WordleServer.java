@@ -0,0 +1,93 @@
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * TCP game server: every connection plays one game of Wordle, with the same
+ * prompts and boards as Wordle.main. Each connection runs on its own virtual
+ * thread; the dictionary is loaded once and shared read-only by all sessions.
+ * With --daily every game uses the secret of the day; with --strict only
+ * dictionary words are accepted as guesses. With --metrics N the game
+ * counters are printed to standard error every N seconds.
+ * Usage: java WordleServer [port] [--daily] [--strict] [--metrics seconds] [--shared tables.shared]
+ */
+public class WordleServer {
+
+    public static final int DEFAULT_PORT = 4000;
+
+    private final SecretPicker picker;
+    private final boolean daily;
+
+    // the words accepted as guesses, or null to accept any 5-letter guess
+    private final WordIndex validWords;
+
+    public WordleServer(String[] dict, boolean daily, boolean strict) {
+        this.picker = new SecretPicker(dict.clone());
+        this.daily = daily;
+        this.validWords = strict ? new WordIndex(dict) : null;
+    }
+
+    // Accepts connections on serverSocket until it is closed, one virtual thread per game.
+    public void serve(ServerSocket serverSocket) throws IOException {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            while (!serverSocket.isClosed()) {
+                Socket socket;
+                try {
+                    socket = serverSocket.accept();
+                } catch (IOException e) {
+                    if (serverSocket.isClosed()) break;
+                    throw e;
+                }
+                executor.submit(() -> session(socket));
+            }
+        }
+    }
+
+    // Plays one game over socket and closes it.
+    private void session(Socket socket) {
+        try (socket) {
+            socket.setTcpNoDelay(true);
+            In inp = new In(socket);
+            PrintStream out = new PrintStream(new BufferedOutputStream(socket.getOutputStream()), false, "UTF-8");
+            String secret = daily ? picker.daily() : picker.choose();
+            Wordle.playGame(secret, inp, out, validWords);
+        } catch (NoSuchElementException e) {
+            // the client disconnected in the middle of the game
+        } catch (IOException e) {
+            System.err.println("Session " + socket.getRemoteSocketAddress() + " failed: " + e.getMessage());
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = DEFAULT_PORT;
+        boolean daily = false;
+        boolean strict = false;
+        int metricsSeconds = 0;
+        String sharedFile = null;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--daily"))        daily = true;
+            else if (args[i].equals("--strict"))  strict = true;
+            else if (args[i].equals("--metrics")) metricsSeconds = Integer.parseInt(args[++i]);
+            else if (args[i].equals("--shared"))  sharedFile = args[++i];
+            else port = Integer.parseInt(args[i]);
+        }
+        if (metricsSeconds > 0) {
+            WordleMetrics metrics = new WordleMetrics();
+            Wordle.setMetrics(metrics);
+            metrics.startDump(System.err, metricsSeconds * 1000L);
+        }
+        String[] dict = (sharedFile != null) ? SharedTables.open(new File(sharedFile), "dictionary.txt").toArray()
+                                             : Wordle.readDictionary("dictionary.txt");
+        WordleServer server = new WordleServer(dict, daily, strict);
+        try (ServerSocket serverSocket = new ServerSocket(port, 1024)) {
+            System.out.println("Wordle server listening on port " + port);
+            server.serve(serverSocket);
+        }
+    }
+}
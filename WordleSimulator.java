@@ -0,0 +1,153 @@
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Headless batch simulation: plays one game per dictionary word as the
+ * secret, with a Player choosing the guesses, in parallel on all cores.
+ * Reports how many games were won in each number of attempts and how many were lost.
+ * Usage: java WordleSimulator [threads] [--shared tables.shared]
+ */
+public class WordleSimulator {
+
+    // Chooses guesses for a game. Each worker thread gets its own Player.
+    public interface Player {
+
+        // Called before the first guess of every game.
+        void newGame();
+
+        // Returns the next word to guess.
+        String nextGuess();
+
+        // Receives the feedback row for the guess just played.
+        void onFeedback(String guess, char[] resultRow);
+    }
+
+    // Outcome of a batch: wins[k] games were won in k attempts (k = 1..maxAttempts).
+    public static final class Result {
+        public final int[] wins;
+        public int losses;
+
+        Result(int maxAttempts) {
+            wins = new int[maxAttempts + 1];
+        }
+
+        public int games() {
+            int games = losses;
+            for (int w : wins) games += w;
+            return games;
+        }
+
+        void add(Result other) {
+            for (int k = 0; k < wins.length; k++) wins[k] += other.wins[k];
+            losses += other.losses;
+        }
+    }
+
+    // Returns a Player backed by the entropy solver; matrix and book may be
+    // shared by all players, and book may be null.
+    public static Player solverPlayer(String[] dict, PatternMatrix matrix, OpeningBook book) {
+        WordleSolver solver = new WordleSolver(dict, matrix);
+        solver.setOpeningBook(book);
+        return new Player() {
+            private int last;
+
+            public void newGame() {
+                solver.reset();
+            }
+
+            public String nextGuess() {
+                last = solver.nextGuess();
+                return solver.word(last);
+            }
+
+            public void onFeedback(String guess, char[] resultRow) {
+                solver.update(last, Wordle.encodeFeedback(resultRow));
+            }
+        };
+    }
+
+    // Plays one game against secret; returns the attempts used, or 0 if the game was lost.
+    public static int play(WordleGame game, String secret, Player player) {
+        game.reset(secret);
+        player.newGame();
+        while (!game.isOver()) {
+            String guess = player.nextGuess();
+            char[] row = game.guess(guess);
+            player.onFeedback(guess, row);
+        }
+        return game.isWon() ? game.attempts() : 0;
+    }
+
+    // Plays every word of secrets once, split across threads; players creates one Player per thread.
+    public static Result run(String[] secrets, Supplier<Player> players, int threads) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Result>> parts = new ArrayList<>();
+            int chunk = (secrets.length + threads - 1) / threads;
+            for (int from = 0; from < secrets.length; from += chunk) {
+                int start = from;
+                int end = Math.min(secrets.length, from + chunk);
+                parts.add(pool.submit(() -> {
+                    Player player = players.get();
+                    WordleGame game = new WordleGame(secrets[start]);
+                    Result part = new Result(game.maxAttempts());
+                    for (int i = start; i < end; i++) {
+                        int attempts = play(game, secrets[i], player);
+                        if (attempts == 0) part.losses++;
+                        else part.wins[attempts]++;
+                    }
+                    return part;
+                }));
+            }
+            Result total = new Result(Wordle.MAX_ATTEMPTS);
+            for (Future<Result> part : parts) {
+                total.add(part.get());
+            }
+            return total;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int threads = Runtime.getRuntime().availableProcessors();
+        String sharedFile = null;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--shared")) sharedFile = args[++i];
+            else threads = Integer.parseInt(args[i]);
+        }
+
+        // With --shared the dictionary and matrix are mapped from the file SharedTables built
+        String[] dict;
+        PatternMatrix matrix;
+        if (sharedFile != null) {
+            SharedTables tables = SharedTables.open(new File(sharedFile), "dictionary.txt");
+            dict = tables.toArray();
+            matrix = tables.hasMatrix() ? tables.matrix(dict) : PatternMatrix.buildParallel(dict);
+        } else {
+            dict = Wordle.readDictionary("dictionary.txt");
+            matrix = PatternMatrix.buildParallel(dict);
+        }
+        OpeningBook book = OpeningBook.load("dictionary.txt", dict);
+
+        long start = System.nanoTime();
+        Result result = run(dict, () -> solverPlayer(dict, matrix, book), threads);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("Played %d games on %d threads in %.2f s%n", result.games(), threads, seconds);
+        long total = 0;
+        int won = 0;
+        for (int k = 1; k < result.wins.length; k++) {
+            System.out.printf("%d: %d%n", k, result.wins[k]);
+            total += (long) k * result.wins[k];
+            won += result.wins[k];
+        }
+        System.out.println("lost: " + result.losses);
+        if (won > 0) System.out.printf("average attempts (wins): %.3f%n", (double) total / won);
+    }
+}
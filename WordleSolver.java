@@ -0,0 +1,318 @@
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Automatic guesser that picks, at every turn, the dictionary word whose
+ * feedback splits the remaining candidates with the highest entropy.
+ * Usage: java WordleSolver [--hard]              (plays one game like Wordle.main)
+ *        java WordleSolver batch [-p] [--hard]   (average guesses over the dictionary)
+ */
+public final class WordleSolver {
+
+    // Below this many guesses a parallel scan is not worth splitting further.
+    private static final int PARALLEL_THRESHOLD = 256;
+
+    // Dictionaries up to this size get a PatternMatrix; larger ones use PackedWord directly.
+    static final int MATRIX_LIMIT = 16384;
+
+    private final String[] dict;
+    private final int[] packed;
+    private final int[] masks;
+    private final PatternMatrix matrix;
+
+    // c * log2(c) for c = 0..dict.length
+    private final double[] cLogC;
+
+    // the remaining candidates are candidates[0 .. count-1]; alive[i] is true for each of them
+    private final int[] candidates;
+    private final boolean[] alive;
+    private int count;
+
+    // scratch histogram for sequential scans, one bucket per feedback pattern
+    private final int[] histogram = new int[PatternMatrix.PATTERNS];
+
+    private boolean parallel;
+    private int firstGuess = -1;
+
+    // hints revealed since reset() when playing in hard mode, otherwise null
+    private HardModeConstraints hard;
+
+    // precomputed first and second guesses, or null
+    private OpeningBook book;
+
+    // guesses played since reset(), the pattern of the last one, and whether
+    // the game so far has followed the opening book
+    private int turn;
+    private int lastPattern;
+    private boolean onBook;
+
+    public WordleSolver(String[] dict) {
+        this(dict, dict.length <= MATRIX_LIMIT ? PatternMatrix.buildParallel(dict) : null);
+    }
+
+    // Creates a solver that reads feedback from matrix, or computes it if matrix is null.
+    public WordleSolver(String[] dict, PatternMatrix matrix) {
+        this.dict = dict;
+        this.packed = PackedWord.packAll(dict);
+        this.masks = PackedWord.masks(packed);
+        this.matrix = matrix;
+        this.cLogC = new double[dict.length + 1];
+        for (int c = 1; c <= dict.length; c++) {
+            cLogC[c] = c * Math.log(c) / Math.log(2);
+        }
+        this.candidates = new int[dict.length];
+        this.alive = new boolean[dict.length];
+        reset();
+    }
+
+    // Makes every dictionary word a candidate again.
+    public void reset() {
+        for (int i = 0; i < dict.length; i++) {
+            candidates[i] = i;
+            alive[i] = true;
+        }
+        count = dict.length;
+        turn = 0;
+        onBook = true;
+        if (hard != null) hard.reset();
+    }
+
+    // Uses book (which must have been computed for this dictionary) for the
+    // first two guesses; null turns it off.
+    public void setOpeningBook(OpeningBook book) {
+        if (book != null && !book.matches(dict)) {
+            throw new IllegalArgumentException("opening book was computed for a different dictionary");
+        }
+        this.book = book;
+    }
+
+    // Turns hard mode on or off: every guess then uses the green and yellow
+    // hints revealed since reset(). Takes effect on the very next nextGuess(),
+    // but turning it on mid-game starts with no hints, since only the rows
+    // passed to update() after this call are recorded; set it before a game.
+    public void setHardMode(boolean hardMode) {
+        this.hard = hardMode ? new HardModeConstraints(Wordle.WORD_LENGTH) : null;
+    }
+
+    // Turns the parallel scan over guesses on or off.
+    public void setParallel(boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    // The word at dictionary index i.
+    public String word(int i) {
+        return dict[i];
+    }
+
+    // Number of words that are still possible secrets.
+    public int candidateCount() {
+        return count;
+    }
+
+    // Returns the dictionary index of word, or -1 if it is not in the dictionary.
+    public int indexOf(String word) {
+        for (int i = 0; i < dict.length; i++) {
+            if (dict[i].equals(word)) return i;
+        }
+        return -1;
+    }
+
+    // Returns the feedback pattern of guess g against secret s.
+    int pattern(int g, int s) {
+        if (matrix != null) return matrix.pattern(g, s);
+        return PackedWord.feedback(packed[s], masks[s], packed[g]);
+    }
+
+    // Returns the dictionary index of the next guess.
+    public int nextGuess() {
+        if (count == 0) throw new IllegalStateException("no candidate is consistent with the feedback so far");
+        if (book != null && onBook) {
+            if (turn == 0) return book.first();
+            if (turn == 1) {
+                int second = book.second(lastPattern);
+                if (second >= 0 && (hard == null || hard.allows(packed[second]))) return second;
+            }
+        }
+        if (count <= 2) return candidates[0];
+        if (count == dict.length) {
+            // the opening guess depends only on the dictionary
+            if (firstGuess < 0) firstGuess = bestGuess();
+            return firstGuess;
+        }
+        return bestGuess();
+    }
+
+    // Keeps only the candidates that would have given pattern for guess g.
+    public void update(int g, int pattern) {
+        if (turn == 0 && book != null && g != book.first()) onBook = false;
+        turn++;
+        lastPattern = pattern;
+        if (hard != null) hard.add(packed[g], pattern);
+        int kept = 0;
+        for (int i = 0; i < count; i++) {
+            int s = candidates[i];
+            if (pattern(g, s) == pattern) candidates[kept++] = s;
+            else alive[s] = false;
+        }
+        count = kept;
+    }
+
+    private int bestGuess() {
+        Best best;
+        if (parallel && dict.length > PARALLEL_THRESHOLD) {
+            best = ForkJoinPool.commonPool().invoke(new ScanTask(this, 0, dict.length));
+        } else {
+            best = scan(0, dict.length, histogram);
+        }
+        return best.index;
+    }
+
+    // The highest entropy any guess can reach: every candidate in its own
+    // bucket, or all 243 buckets equally full.
+    private double entropyBound() {
+        return Math.log(Math.min(count, PatternMatrix.PATTERNS)) / Math.log(2);
+    }
+
+    // Scans guesses [from, to) and returns the best one, using hist as scratch.
+    private Best scan(int from, int to, int[] hist) {
+        Best best = new Best();
+        double bound = entropyBound();
+        double log2Count = Math.log(count) / Math.log(2);
+        for (int g = from; g < to; g++) {
+            // a remaining candidate always satisfies hard mode
+            if (hard != null && !alive[g] && !hard.allows(packed[g])) continue;
+            Arrays.fill(hist, 0);
+            for (int i = 0; i < count; i++) {
+                hist[pattern(g, candidates[i])]++;
+            }
+            double sum = 0;
+            for (int p = 0; p < hist.length; p++) {
+                sum += cLogC[hist[p]];
+            }
+            double entropy = log2Count - sum / count;
+            if (best.improvedBy(entropy, g, alive[g])) {
+                // a candidate that reaches the bound cannot be beaten
+                if (alive[g] && entropy >= bound - 1e-9) break;
+            }
+        }
+        return best;
+    }
+
+    // Best guess found so far. Ties prefer a possible secret, then the lower index,
+    // so sequential and parallel scans pick the same word.
+    private static final class Best {
+        double entropy = -1;
+        int index = -1;
+        boolean candidate;
+
+        boolean improvedBy(double entropy, int index, boolean candidate) {
+            if (!better(entropy, index, candidate, this.entropy, this.index, this.candidate)) return false;
+            this.entropy = entropy;
+            this.index = index;
+            this.candidate = candidate;
+            return true;
+        }
+
+        static boolean better(double e1, int i1, boolean c1, double e2, int i2, boolean c2) {
+            if (i2 < 0) return true;
+            if (Math.abs(e1 - e2) > 1e-9) return e1 > e2;
+            if (c1 != c2) return c1;
+            return i1 < i2;
+        }
+    }
+
+    // Splits a scan over guesses across the fork-join pool.
+    private static final class ScanTask extends RecursiveTask<Best> {
+        private static final long serialVersionUID = 1L;
+
+        // a task is never serialized, so the solver it scans need not be
+        private final transient WordleSolver solver;
+        private final int from;
+        private final int to;
+
+        ScanTask(WordleSolver solver, int from, int to) {
+            this.solver = solver;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Best compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                return solver.scan(from, to, new int[PatternMatrix.PATTERNS]);
+            }
+            int mid = (from + to) >>> 1;
+            ScanTask left = new ScanTask(solver, from, mid);
+            left.fork();
+            Best right = new ScanTask(solver, mid, to).compute();
+            Best l = left.join();
+            return Best.better(right.entropy, right.index, right.candidate, l.entropy, l.index, l.candidate) ? right : l;
+        }
+    }
+
+    // Plays a full game against secret without printing; returns the number of guesses used.
+    public int solve(String secret) {
+        reset();
+        char[] row = new char[Wordle.WORD_LENGTH];
+        for (int attempt = 1; ; attempt++) {
+            int g = nextGuess();
+            Wordle.computeFeedback(secret, dict[g], row);
+            if (Wordle.isAllGreen(row)) return attempt;
+            update(g, Wordle.encodeFeedback(row));
+        }
+    }
+
+    // Plays one game the way Wordle.main does, with the solver typing the guesses.
+    public boolean play(String secret) {
+        reset();
+        char[][] guesses = new char[Wordle.MAX_ATTEMPTS][Wordle.WORD_LENGTH];
+        char[][] results = new char[Wordle.MAX_ATTEMPTS][Wordle.WORD_LENGTH];
+        for (int attempt = 0; attempt < Wordle.MAX_ATTEMPTS; attempt++) {
+            int g = nextGuess();
+            String guess = dict[g];
+            System.out.println("Enter your guess (5-letter word): " + guess);
+            Wordle.storeGuess(guess, guesses, attempt);
+            Wordle.computeFeedback(secret, guess, results[attempt]);
+            Wordle.printBoard(guesses, results, attempt);
+            if (Wordle.isAllGreen(results[attempt])) {
+                System.out.println("Congratulations! You guessed the word in " + (attempt + 1) + " attempts.");
+                return true;
+            }
+            update(g, Wordle.encodeFeedback(results[attempt]));
+        }
+        System.out.println("Sorry, you did not guess the word.");
+        System.out.println("The secret word was: " + secret);
+        return false;
+    }
+
+    // Solves every dictionary word as the secret and prints the average number of guesses.
+    public void batch() {
+        long start = System.nanoTime();
+        long total = 0;
+        int lost = 0;
+        for (String secret : dict) {
+            int attempts = solve(secret);
+            total += attempts;
+            if (attempts > Wordle.MAX_ATTEMPTS) lost++;
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("Solved %d words: average %.3f guesses, %d over %d guesses (%.2f s)%n",
+                          dict.length, (double) total / dict.length, lost, Wordle.MAX_ATTEMPTS, seconds);
+    }
+
+    public static void main(String[] args) {
+        String[] dict = Wordle.readDictionary("dictionary.txt");
+        WordleSolver solver = new WordleSolver(dict);
+        solver.setOpeningBook(OpeningBook.load("dictionary.txt", dict));
+        for (String arg : args) {
+            if (arg.equals("-p")) solver.setParallel(true);
+            if (arg.equals("--hard")) solver.setHardMode(true);
+        }
+        if (args.length > 0 && args[0].equals("batch")) {
+            solver.batch();
+        } else {
+            solver.play(Wordle.chooseSecretWord(dict));
+        }
+    }
+}